@@ -11,6 +11,9 @@
 
 package org.eclipse.mylyn.internal.context.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import org.eclipse.mylyn.context.core.AbstractContextListener;
@@ -86,6 +89,11 @@ public abstract class AbstractRelationProvider extends AbstractContextListener {
 				}
 			}
 			break;
+		case LANDMARKS_REMOVED:
+			for (IInteractionElement node : event.getElements()) {
+				ActiveSearchScheduler.getDefault().cancel(getId(), node.getHandleIdentifier());
+			}
+			break;
 		}
 	}
 
@@ -105,6 +113,25 @@ public abstract class AbstractRelationProvider extends AbstractContextListener {
 		createEdge(node, elementKind, elementHandle);
 	}
 
+	/**
+	 * Increments the interest of all <code>elementHandles</code> in a single batch and relates them to
+	 * <code>node</code>. Duplicate handles are only processed once.
+	 */
+	protected void incrementInterest(IInteractionElement node, String elementKind, Collection<String> elementHandles,
+			int degreeOfSeparation) {
+		Collection<String> handles = new LinkedHashSet<String>(elementHandles);
+		int predictedInterest = 1;
+		List<InteractionEvent> events = new ArrayList<InteractionEvent>(handles.size());
+		for (String handle : handles) {
+			events.add(new InteractionEvent(InteractionEvent.Kind.PREDICTION, elementKind, handle, getSourceId(),
+					getId(), null, predictedInterest));
+		}
+		ContextCorePlugin.getContextManager().processInteractionEvents(events, false, false);
+		for (String handle : handles) {
+			createEdge(node, elementKind, handle);
+		}
+	}
+
 	/**
 	 * Public for testing
 	 */
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.context.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+/**
+ * Runs active search operations of all relation providers with a bounded number of concurrent searches. Requests for a
+ * search that is already pending or running for the same element, provider and degree of separation are ignored, and
+ * the most recently requested searches are started first.
+ *
+ * @since 3.19
+ */
+public class ActiveSearchScheduler {
+
+	private static final int DEFAULT_MAX_CONCURRENT_SEARCHES = 2;
+
+	private static ActiveSearchScheduler instance;
+
+	private final int maxConcurrentSearches;
+
+	/** Pending searches, most recently requested first. */
+	private final LinkedList<SearchJob> pending = new LinkedList<SearchJob>();
+
+	private final Map<String, SearchJob> jobByKey = new HashMap<String, SearchJob>();
+
+	private final List<SearchJob> running = new ArrayList<SearchJob>();
+
+	public static synchronized ActiveSearchScheduler getDefault() {
+		if (instance == null) {
+			instance = new ActiveSearchScheduler(DEFAULT_MAX_CONCURRENT_SEARCHES);
+		}
+		return instance;
+	}
+
+	public ActiveSearchScheduler(int maxConcurrentSearches) {
+		this.maxConcurrentSearches = Math.max(1, maxConcurrentSearches);
+	}
+
+	/**
+	 * Schedules <code>operation</code> unless a search for the same element, provider and degree of separation is
+	 * already pending or running.
+	 *
+	 * @return true, if the operation was scheduled
+	 */
+	public boolean schedule(String handle, String providerId, int degreeOfSeparation, String label,
+			IActiveSearchOperation operation) {
+		String key = getKey(handle, providerId, degreeOfSeparation);
+		synchronized (this) {
+			if (jobByKey.containsKey(key)) {
+				return false;
+			}
+			SearchJob job = new SearchJob(label, key, handle, providerId, operation);
+			jobByKey.put(key, job);
+			pending.addFirst(job);
+		}
+		dispatch();
+		return true;
+	}
+
+	/**
+	 * Cancels pending and running searches of <code>providerId</code> for the element with <code>handle</code>.
+	 */
+	public void cancel(String providerId, String handle) {
+		cancel(providerId, handle, true);
+	}
+
+	/**
+	 * Cancels all pending and running searches of <code>providerId</code>.
+	 */
+	public void cancelAll(String providerId) {
+		cancel(providerId, null, false);
+	}
+
+	private void cancel(String providerId, String handle, boolean matchHandle) {
+		List<SearchJob> canceled = new ArrayList<SearchJob>();
+		synchronized (this) {
+			for (Iterator<SearchJob> it = pending.iterator(); it.hasNext();) {
+				SearchJob job = it.next();
+				if (job.matches(providerId, handle, matchHandle)) {
+					it.remove();
+					jobByKey.remove(job.key);
+				}
+			}
+			for (SearchJob job : running) {
+				if (job.matches(providerId, handle, matchHandle)) {
+					// allow a new search to be requested while the canceled one is still winding down
+					jobByKey.remove(job.key);
+					canceled.add(job);
+				}
+			}
+		}
+		for (SearchJob job : canceled) {
+			job.cancel();
+		}
+	}
+
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	public synchronized int getRunningCount() {
+		return running.size();
+	}
+
+	private void dispatch() {
+		List<SearchJob> jobs = new ArrayList<SearchJob>();
+		synchronized (this) {
+			while (running.size() < maxConcurrentSearches && !pending.isEmpty()) {
+				SearchJob job = pending.removeFirst();
+				running.add(job);
+				jobs.add(job);
+			}
+		}
+		for (SearchJob job : jobs) {
+			job.schedule();
+		}
+	}
+
+	private void done(SearchJob job) {
+		synchronized (this) {
+			running.remove(job);
+			if (jobByKey.get(job.key) == job) {
+				jobByKey.remove(job.key);
+			}
+		}
+		dispatch();
+	}
+
+	private static String getKey(String handle, String providerId, int degreeOfSeparation) {
+		return providerId + ":" + degreeOfSeparation + ":" + handle; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private class SearchJob extends Job {
+
+		private final String key;
+
+		private final String handle;
+
+		private final String providerId;
+
+		private final IActiveSearchOperation operation;
+
+		public SearchJob(String name, String key, String handle, String providerId, IActiveSearchOperation operation) {
+			super(name);
+			this.key = key;
+			this.handle = handle;
+			this.providerId = providerId;
+			this.operation = operation;
+			setPriority(Job.DECORATE - 10);
+			addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					ActiveSearchScheduler.this.done(SearchJob.this);
+				}
+			});
+		}
+
+		public boolean matches(String providerId, String handle, boolean matchHandle) {
+			return this.providerId.equals(providerId) && (!matchHandle || this.handle.equals(handle));
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			return operation.run(monitor);
+		}
+
+	}
+
+}
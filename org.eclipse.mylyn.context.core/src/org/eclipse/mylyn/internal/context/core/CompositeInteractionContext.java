@@ -134,6 +134,20 @@ public class CompositeInteractionContext implements IInteractionContext {
 		return contexts;
 	}
 
+	/**
+	 * Returns the modification stamps of the contained contexts. The returned set changes whenever a contained context
+	 * is modified or contexts are added or removed.
+	 * 
+	 * @see InteractionContext#getModificationStamp()
+	 */
+	public Set<Long> getModificationStamps() {
+		Set<Long> stamps = new HashSet<Long>();
+		for (InteractionContext context : contexts.values()) {
+			stamps.add(context.getModificationStamp());
+		}
+		return stamps;
+	}
+
 	public List<IInteractionElement> getAllElements() {
 		Set<IInteractionElement> nodes = new HashSet<IInteractionElement>();
 		for (InteractionContext context : contexts.values()) {
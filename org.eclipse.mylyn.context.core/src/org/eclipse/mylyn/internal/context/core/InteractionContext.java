@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.mylyn.context.core.IInteractionContextScaling;
@@ -32,6 +33,8 @@ import org.eclipse.mylyn.monitor.core.InteractionEvent.Kind;
  */
 public class InteractionContext implements IInteractionContext {
 
+	private static final AtomicLong modificationStamps = new AtomicLong();
+
 	private String handleIdentifier;
 
 	private final List<InteractionEvent> interactionHistory;
@@ -57,6 +60,8 @@ public class InteractionContext implements IInteractionContext {
 
 	private final IInteractionContextScaling contextScaling;
 
+	private long modificationStamp;
+
 	public InteractionContext(String id, IInteractionContextScaling scaling) {
 		this.handleIdentifier = id;
 		this.contextScaling = scaling;
@@ -84,6 +89,7 @@ public class InteractionContext implements IInteractionContext {
 	}
 
 	public synchronized IInteractionElement parseEvent(InteractionEvent event) {
+		modified();
 		interactionHistory.add(event);
 		return parseInteractionEvent(event);
 	}
@@ -189,6 +195,7 @@ public class InteractionContext implements IInteractionContext {
 	}
 
 	public synchronized void updateElementHandle(IInteractionElement element, String newHandle) {
+		modified();
 		InteractionContextElement currElement = elementMap.remove(element.getHandleIdentifier());
 		if (currElement != null) {
 			currElement.setHandleIdentifier(newHandle);
@@ -201,6 +208,7 @@ public class InteractionContext implements IInteractionContext {
 	}
 
 	public synchronized void delete(Collection<IInteractionElement> nodes) {
+		modified();
 		// remove elements
 		Set<String> handlesToRemove = new HashSet<String>();
 		for (IInteractionElement node : nodes) {
@@ -248,6 +256,7 @@ public class InteractionContext implements IInteractionContext {
 	}
 
 	public synchronized void reset() {
+		modified();
 		elementMap.clear();
 		interactionHistory.clear();
 		landmarkMap.clear();
@@ -258,6 +267,18 @@ public class InteractionContext implements IInteractionContext {
 		lastEditEvent = null;
 	}
 
+	private void modified() {
+		modificationStamp = modificationStamps.incrementAndGet();
+	}
+
+	/**
+	 * Returns a value that changes whenever events are added or elements are updated or removed. Values are unique
+	 * across all contexts, or 0 if the context was never modified.
+	 */
+	public synchronized long getModificationStamp() {
+		return modificationStamp;
+	}
+
 	public synchronized int getUserEventCount() {
 		return numUserEvents;
 	}
@@ -266,6 +287,17 @@ public class InteractionContext implements IInteractionContext {
 		return new ArrayList<InteractionEvent>(interactionHistory);
 	}
 
+	public synchronized int getInteractionHistorySize() {
+		return interactionHistory.size();
+	}
+
+	/**
+	 * @return the most recent event or null, if the history is empty
+	 */
+	public synchronized InteractionEvent getLastEvent() {
+		return (interactionHistory.isEmpty()) ? null : interactionHistory.get(interactionHistory.size() - 1);
+	}
+
 	public synchronized void collapse() {
 		collapseHistory(interactionHistory);
 	}
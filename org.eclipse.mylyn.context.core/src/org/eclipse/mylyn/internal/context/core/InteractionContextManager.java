@@ -821,7 +821,7 @@ public class InteractionContextManager implements IInteractionContextManager {
 				metaContextLock.acquire();
 
 				activityMetaContext = (InteractionContext) contextStore.loadContext(InteractionContextManager.CONTEXT_HISTORY_FILE_NAME);
-				if (activityMetaContext == null || activityMetaContext.getInteractionHistory().isEmpty()) {
+				if (activityMetaContext == null || activityMetaContext.getInteractionHistorySize() == 0) {
 					File contextHistory = contextStore.getFileForContext(InteractionContextManager.CONTEXT_HISTORY_FILE_NAME);
 					if (restoreSnapshot(contextHistory)) {
 						activityMetaContext = (InteractionContext) contextStore.loadContext(InteractionContextManager.CONTEXT_HISTORY_FILE_NAME);
@@ -1238,6 +1238,14 @@ public class InteractionContextManager implements IInteractionContextManager {
 	}
 
 	public void processInteractionEvents(List<InteractionEvent> events, boolean propagateToParents) {
+		processInteractionEvents(events, propagateToParents, true);
+	}
+
+	/**
+	 * Processes <code>events</code> and notifies listeners at most once with the combined interest delta.
+	 */
+	public void processInteractionEvents(List<InteractionEvent> events, boolean propagateToParents,
+			boolean notifyListeners) {
 		Set<IInteractionElement> compositeDelta = new HashSet<IInteractionElement>();
 		for (InteractionEvent event : events) {
 			if (isContextActive()) {
@@ -1249,7 +1257,9 @@ public class InteractionContextManager implements IInteractionContextManager {
 				}
 			}
 		}
-		notifyInterestDelta(new ArrayList<IInteractionElement>(compositeDelta));
+		if (notifyListeners) {
+			notifyInterestDelta(new ArrayList<IInteractionElement>(compositeDelta));
+		}
 	}
 
 	/**
@@ -1513,14 +1523,26 @@ public class InteractionContextManager implements IInteractionContextManager {
 		}
 	}
 
-	public void updateHandle(final IInteractionElement element, String newHandle) {
-		if (element == null) {
+	/**
+	 * Updates the handles of all elements in <code>newHandleByElement</code> in the active context and notifies
+	 * listeners once for all changed elements.
+	 */
+	public void updateHandles(Map<IInteractionElement, String> newHandleByElement) {
+		if (newHandleByElement.isEmpty()) {
 			return;
 		}
 		final IInteractionContext context = getActiveContext();
-		context.updateElementHandle(element, newHandle);
+		final List<IInteractionElement> changed = new ArrayList<IInteractionElement>(newHandleByElement.size());
+		final List<IInteractionElement> landmarks = new ArrayList<IInteractionElement>();
+		for (Map.Entry<IInteractionElement, String> entry : newHandleByElement.entrySet()) {
+			IInteractionElement element = entry.getKey();
+			context.updateElementHandle(element, entry.getValue());
+			changed.add(element);
+			if (element.getInterest().isLandmark()) {
+				landmarks.add(element);
+			}
+		}
 
-		final List<IInteractionElement> changed = Collections.singletonList(element);
 		for (final IContextListener listener : contextListeners) {
 			SafeRunner.run(new ISafeRunnable() {
 				public void handleException(Throwable e) {
@@ -1535,7 +1557,7 @@ public class InteractionContextManager implements IInteractionContextManager {
 				}
 			});
 		}
-		if (element.getInterest().isLandmark()) {
+		if (!landmarks.isEmpty()) {
 			for (final IContextListener listener : contextListeners) {
 				SafeRunner.run(new ISafeRunnable() {
 					public void handleException(Throwable e) {
@@ -1544,10 +1566,8 @@ public class InteractionContextManager implements IInteractionContextManager {
 					}
 
 					public void run() throws Exception {
-						List<IInteractionElement> changed = new ArrayList<IInteractionElement>();
-						changed.add(element);
 						ContextChangeEvent event = new ContextChangeEvent(ContextChangeKind.LANDMARKS_ADDED,
-								context.getHandleIdentifier(), context, changed);
+								context.getHandleIdentifier(), context, landmarks);
 						listener.contextChanged(event);
 					}
 				});
@@ -1555,4 +1575,11 @@ public class InteractionContextManager implements IInteractionContextManager {
 		}
 	}
 
+	public void updateHandle(IInteractionElement element, String newHandle) {
+		if (element == null) {
+			return;
+		}
+		updateHandles(Collections.singletonMap(element, newHandle));
+	}
+
 }
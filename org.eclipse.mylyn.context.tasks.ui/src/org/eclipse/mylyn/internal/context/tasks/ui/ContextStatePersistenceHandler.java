@@ -25,6 +25,7 @@ import org.eclipse.mylyn.commons.core.storage.ICommonStorable;
 import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.mylyn.internal.context.ui.ContextUiPlugin;
+import org.eclipse.mylyn.internal.context.ui.state.ContextState;
 import org.eclipse.mylyn.internal.context.ui.state.ContextStateManager;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.tasks.core.ITask;
@@ -135,9 +136,14 @@ public class ContextStatePersistenceHandler {
 		ICommonStorable storable = getStorable(context.getHandleIdentifier());
 		if (storable != null) {
 			try {
+				ContextState state = getStateManager().saveState(context, allowModifications);
+				if (!state.isDirty() && storable.exists(FILE_NAME)) {
+					// state has not changed since it was last restored or saved
+					return;
+				}
 				OutputStream out = storable.write(FILE_NAME, null);
 				try {
-					getStateManager().saveState(context, out, allowModifications);
+					getStateManager().write(out, state);
 				} finally {
 					out.close();
 				}
@@ -163,9 +163,9 @@ public class TaskActivityMonitor extends AbstractTaskActivityMonitor {
 		public void contextChanged(ContextChangeEvent event) {
 			switch (event.getEventKind()) {
 			case INTEREST_CHANGED:
-				List<InteractionEvent> events = contextManager.getActivityMetaContext().getInteractionHistory();
-				if (events.size() > 0) {
-					InteractionEvent interactionEvent = events.get(events.size() - 1);
+				// the listener is notified for each event that is added to the activity history
+				InteractionEvent interactionEvent = contextManager.getActivityMetaContext().getLastEvent();
+				if (interactionEvent != null) {
 					parseInteractionEvent(interactionEvent, false);
 				}
 				break;
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.context.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.context.core.ActiveSearchScheduler;
+import org.eclipse.mylyn.internal.context.core.IActiveSearchListener;
+import org.eclipse.mylyn.internal.context.core.IActiveSearchOperation;
+
+public class ActiveSearchSchedulerTest extends TestCase {
+
+	private static final long TIMEOUT = 10000;
+
+	private static final String PROVIDER_ID = "provider";
+
+	/**
+	 * Stands in for a search engine query: blocks until released or canceled.
+	 */
+	private class StubSearchOperation implements IActiveSearchOperation {
+
+		private final String name;
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private volatile boolean started;
+
+		private volatile boolean canceled;
+
+		private volatile boolean completed;
+
+		public StubSearchOperation(String name) {
+			this.name = name;
+		}
+
+		public void addListener(IActiveSearchListener listener) {
+		}
+
+		public void removeListener(IActiveSearchListener listener) {
+		}
+
+		public IStatus run(IProgressMonitor monitor) {
+			started = true;
+			startOrder.add(name);
+			int current = concurrent.incrementAndGet();
+			synchronized (maxConcurrent) {
+				maxConcurrent.set(Math.max(maxConcurrent.get(), current));
+			}
+			try {
+				while (!monitor.isCanceled()) {
+					if (release.await(10, TimeUnit.MILLISECONDS)) {
+						completed = true;
+						return Status.OK_STATUS;
+					}
+				}
+				canceled = true;
+				return Status.CANCEL_STATUS;
+			} catch (InterruptedException e) {
+				return Status.CANCEL_STATUS;
+			} finally {
+				concurrent.decrementAndGet();
+			}
+		}
+
+	}
+
+	private final AtomicInteger concurrent = new AtomicInteger();
+
+	private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+	private final List<String> startOrder = Collections.synchronizedList(new ArrayList<String>());
+
+	private ActiveSearchScheduler scheduler;
+
+	private StubSearchOperation schedule(String handle) {
+		StubSearchOperation operation = new StubSearchOperation(handle);
+		assertTrue(scheduler.schedule(handle, PROVIDER_ID, 1, handle, operation));
+		return operation;
+	}
+
+	private void waitForIdle() throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (scheduler.getRunningCount() > 0 || scheduler.getPendingCount() > 0) {
+			assertTrue("searches did not complete in time", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	private void waitForStart(StubSearchOperation operation) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!operation.started) {
+			assertTrue("search did not start in time", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	public void testConcurrencyBounded() throws Exception {
+		scheduler = new ActiveSearchScheduler(2);
+		List<StubSearchOperation> operations = new ArrayList<StubSearchOperation>();
+		for (int i = 0; i < 6; i++) {
+			operations.add(schedule("element" + i));
+		}
+		waitForStart(operations.get(0));
+		waitForStart(operations.get(1));
+		assertEquals(2, scheduler.getRunningCount());
+		assertEquals(4, scheduler.getPendingCount());
+
+		for (StubSearchOperation operation : operations) {
+			operation.release.countDown();
+		}
+		waitForIdle();
+		for (StubSearchOperation operation : operations) {
+			assertTrue(operation.completed);
+		}
+		assertEquals(2, maxConcurrent.get());
+	}
+
+	public void testDuplicateIgnored() throws Exception {
+		scheduler = new ActiveSearchScheduler(1);
+		StubSearchOperation operation = schedule("element");
+		assertFalse(scheduler.schedule("element", PROVIDER_ID, 1, "element", new StubSearchOperation("duplicate")));
+		assertTrue(scheduler.schedule("element", PROVIDER_ID, 2, "element", new StubSearchOperation("degree")));
+		assertTrue(scheduler.schedule("element", "other", 1, "element", new StubSearchOperation("provider")));
+
+		operation.release.countDown();
+		scheduler.cancelAll(PROVIDER_ID);
+		scheduler.cancelAll("other");
+		waitForIdle();
+		assertFalse(startOrder.contains("duplicate"));
+
+		// a completed search may be requested again
+		operation = schedule("element");
+		operation.release.countDown();
+		waitForIdle();
+		assertTrue(operation.completed);
+	}
+
+	public void testMostRecentStartedFirst() throws Exception {
+		scheduler = new ActiveSearchScheduler(1);
+		StubSearchOperation first = schedule("first");
+		waitForStart(first);
+		StubSearchOperation second = schedule("second");
+		StubSearchOperation third = schedule("third");
+		first.release.countDown();
+		second.release.countDown();
+		third.release.countDown();
+		waitForIdle();
+		assertEquals(3, startOrder.size());
+		assertEquals("first", startOrder.get(0));
+		assertEquals("third", startOrder.get(1));
+		assertEquals("second", startOrder.get(2));
+	}
+
+	public void testCancelSupersededSearches() throws Exception {
+		scheduler = new ActiveSearchScheduler(1);
+		StubSearchOperation running = schedule("removed");
+		waitForStart(running);
+		StubSearchOperation pending = new StubSearchOperation("removed");
+		assertTrue(scheduler.schedule("removed", PROVIDER_ID, 2, "removed", pending));
+		StubSearchOperation other = schedule("other");
+
+		scheduler.cancel(PROVIDER_ID, "removed");
+		assertEquals(1, scheduler.getPendingCount());
+		other.release.countDown();
+		waitForIdle();
+
+		assertTrue(running.canceled);
+		assertFalse(pending.started);
+		assertTrue(other.completed);
+	}
+
+}
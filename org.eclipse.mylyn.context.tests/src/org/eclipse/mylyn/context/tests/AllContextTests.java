@@ -34,7 +34,10 @@ public class AllContextTests {
 		suite.addTestSuite(InteractionEventTest.class);
 		suite.addTestSuite(ShadowsBridgeTest.class);
 		suite.addTestSuite(EditorStateParticipantTest.class);
+		suite.addTestSuite(ContextStateManagerTest.class);
 		suite.addTestSuite(ToggleFocusActiveViewHandlerTest.class);
+		suite.addTestSuite(CompoundContextComputationStrategyTest.class);
+		suite.addTestSuite(ActiveSearchSchedulerTest.class);
 		return suite;
 	}
 
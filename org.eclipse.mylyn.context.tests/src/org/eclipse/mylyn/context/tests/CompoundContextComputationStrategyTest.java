@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2014 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.context.tests;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.context.core.ContextComputationStrategy;
+import org.eclipse.mylyn.context.core.IInteractionContext;
+import org.eclipse.mylyn.internal.context.ui.CompoundContextComputationStrategy;
+
+public class CompoundContextComputationStrategyTest extends TestCase {
+
+	private static final long DELAY = 500;
+
+	private static class SlowStrategy extends ContextComputationStrategy {
+
+		private final long delay;
+
+		private final List<Object> result;
+
+		private volatile boolean canceled;
+
+		private volatile boolean interrupted;
+
+		private volatile boolean done;
+
+		public SlowStrategy(long delay, Object... result) {
+			this.delay = delay;
+			this.result = Arrays.asList(result);
+		}
+
+		@Override
+		public List<Object> computeContext(IInteractionContext context, IAdaptable input, IProgressMonitor monitor) {
+			monitor.beginTask("", 10);
+			try {
+				for (int i = 0; i < 10; i++) {
+					long end = System.currentTimeMillis() + delay / 10;
+					while (System.currentTimeMillis() < end) {
+						if (monitor.isCanceled()) {
+							canceled = true;
+							return Arrays.<Object> asList("canceled");
+						}
+						try {
+							Thread.sleep(10);
+						} catch (InterruptedException e) {
+							interrupted = true;
+							return Arrays.<Object> asList("interrupted");
+						}
+					}
+					monitor.worked(1);
+				}
+				return result;
+			} finally {
+				done = true;
+				monitor.done();
+			}
+		}
+
+	}
+
+	private CompoundContextComputationStrategy strategy;
+
+	@Override
+	protected void setUp() throws Exception {
+		strategy = new CompoundContextComputationStrategy();
+		strategy.setMaxParallelism(3);
+	}
+
+	public void testDelegatesRunConcurrently() {
+		strategy.setDelegates(Arrays.<ContextComputationStrategy> asList(new SlowStrategy(DELAY, "a"),
+				new SlowStrategy(DELAY, "b"), new SlowStrategy(DELAY, "c")));
+
+		long start = System.currentTimeMillis();
+		List<Object> result = strategy.computeContext(null, null, new NullProgressMonitor());
+		long elapsed = System.currentTimeMillis() - start;
+
+		assertEquals(Arrays.asList("a", "b", "c"), result);
+		assertTrue("expected less than " + 2 * DELAY + "ms, took " + elapsed + "ms", elapsed < 2 * DELAY);
+	}
+
+	public void testResultsMergedInDelegateOrder() {
+		strategy.setDelegates(Arrays.<ContextComputationStrategy> asList(new SlowStrategy(DELAY, "a", "b"),
+				new SlowStrategy(0, "c", "a"), new SlowStrategy(DELAY / 2, "b", "d")));
+
+		List<Object> result = strategy.computeContext(null, null, new NullProgressMonitor());
+
+		assertEquals(Arrays.asList("a", "b", "c", "d"), result);
+	}
+
+	public void testTimeoutDiscardsSlowDelegate() {
+		strategy.setTimeout(DELAY);
+		strategy.setDelegates(Arrays.<ContextComputationStrategy> asList(new SlowStrategy(0, "a"),
+				new SlowStrategy(10 * DELAY, "b")));
+
+		long start = System.currentTimeMillis();
+		List<Object> result = strategy.computeContext(null, null, new NullProgressMonitor());
+		long elapsed = System.currentTimeMillis() - start;
+
+		assertEquals(Arrays.asList("a"), result);
+		assertTrue("expected less than " + 5 * DELAY + "ms, took " + elapsed + "ms", elapsed < 5 * DELAY);
+	}
+
+	public void testTimeoutDoesNotInterruptDelegate() throws Exception {
+		strategy.setTimeout(DELAY);
+		SlowStrategy slowStrategy = new SlowStrategy(10 * DELAY, "a");
+		strategy.setDelegates(Arrays.<ContextComputationStrategy> asList(slowStrategy));
+
+		assertEquals(0, strategy.computeContext(null, null, new NullProgressMonitor()).size());
+		long end = System.currentTimeMillis() + 5 * DELAY;
+		while (!slowStrategy.done && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertTrue(slowStrategy.canceled);
+		assertFalse(slowStrategy.interrupted);
+	}
+
+	public void testProgressForwarded() {
+		final SlowStrategy slowStrategy = new SlowStrategy(DELAY, "a");
+		strategy.setDelegates(Arrays.<ContextComputationStrategy> asList(slowStrategy));
+		final double[] workedWhileRunning = new double[1];
+		NullProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public void worked(int work) {
+				internalWorked(work);
+			}
+
+			@Override
+			public void internalWorked(double work) {
+				if (!slowStrategy.done) {
+					workedWhileRunning[0] += work;
+				}
+			}
+		};
+
+		assertEquals(Arrays.asList("a"), strategy.computeContext(null, null, monitor));
+		assertTrue(workedWhileRunning[0] > 0);
+	}
+
+	public void testCancellation() {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		strategy.setDelegates(Arrays.<ContextComputationStrategy> asList(new SlowStrategy(DELAY, "a")));
+
+		assertEquals(0, strategy.computeContext(null, null, monitor).size());
+	}
+
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.context.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.context.core.IInteractionContext;
+import org.eclipse.mylyn.internal.context.core.InteractionContext;
+import org.eclipse.mylyn.internal.context.core.InteractionContextScaling;
+import org.eclipse.mylyn.internal.context.ui.state.ContextState;
+import org.eclipse.mylyn.internal.context.ui.state.ContextStateManager;
+import org.eclipse.mylyn.internal.context.ui.state.ContextStateParticipant;
+
+public class ContextStateManagerTest extends TestCase {
+
+	private static class CountingParticipant extends ContextStateParticipant {
+
+		private final String type;
+
+		private String fingerprint = "initial";
+
+		private int saveCount;
+
+		public CountingParticipant(String type) {
+			this.type = type;
+		}
+
+		@Override
+		public void clearState(String contextHandle, boolean isActiveContext) {
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return true;
+		}
+
+		@Override
+		public void restoreDefaultState(ContextState memento) {
+		}
+
+		@Override
+		public void restoreState(ContextState memento) {
+		}
+
+		@Override
+		public void saveDefaultState(ContextState memento) {
+		}
+
+		@Override
+		public void saveState(ContextState memento, boolean allowModifications) {
+			saveCount++;
+			memento.createMemento(type).putString("fingerprint", fingerprint);
+		}
+
+		@Override
+		public String getStateFingerprint() {
+			return fingerprint;
+		}
+
+	}
+
+	private ContextStateManager manager;
+
+	private CountingParticipant participant1;
+
+	private CountingParticipant participant2;
+
+	private IInteractionContext context;
+
+	@Override
+	protected void setUp() throws Exception {
+		manager = new ContextStateManager();
+		participant1 = new CountingParticipant("participant1");
+		participant2 = new CountingParticipant("participant2");
+		manager.addParticipant(participant1);
+		manager.addParticipant(participant2);
+		context = new InteractionContext("id", new InteractionContextScaling());
+	}
+
+	public void testSaveStateUnchanged() {
+		ContextState state = manager.saveState(context, false);
+		assertTrue(state.isDirty());
+		assertEquals(1, participant1.saveCount);
+		assertEquals(1, participant2.saveCount);
+
+		state = manager.saveState(context, false);
+		assertFalse(state.isDirty());
+		assertEquals(1, participant1.saveCount);
+		assertEquals(1, participant2.saveCount);
+		assertEquals("initial", state.getMemento("participant1").getString("fingerprint"));
+		assertEquals("initial", state.getMemento("participant2").getString("fingerprint"));
+	}
+
+	public void testSaveStateOnlyChangedParticipants() {
+		manager.saveState(context, false);
+
+		participant2.fingerprint = "changed";
+		ContextState state = manager.saveState(context, false);
+		assertTrue(state.isDirty());
+		assertEquals(1, participant1.saveCount);
+		assertEquals(2, participant2.saveCount);
+		assertEquals("initial", state.getMemento("participant1").getString("fingerprint"));
+		assertEquals("changed", state.getMemento("participant2").getString("fingerprint"));
+	}
+
+	public void testSaveStateAllowModifications() {
+		manager.saveState(context, false);
+
+		ContextState state = manager.saveState(context, true);
+		assertFalse(state.isDirty());
+		assertEquals(2, participant1.saveCount);
+		assertEquals(2, participant2.saveCount);
+	}
+
+	public void testSaveStateOtherContext() {
+		manager.saveState(context, false);
+
+		IInteractionContext otherContext = new InteractionContext("other", new InteractionContextScaling());
+		ContextState state = manager.saveState(otherContext, false);
+		assertTrue(state.isDirty());
+		assertEquals(2, participant1.saveCount);
+		assertEquals(2, participant2.saveCount);
+	}
+
+}
@@ -33,6 +33,7 @@ import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.mylyn.internal.context.core.InteractionContext;
 import org.eclipse.mylyn.internal.context.core.InteractionContextScaling;
 import org.eclipse.mylyn.internal.context.ui.state.ContextState;
+import org.eclipse.mylyn.internal.context.ui.state.ContextStateManager;
 import org.eclipse.mylyn.internal.context.ui.state.EditorStateParticipant;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorInput;
@@ -62,6 +63,9 @@ public class EditorStateParticipantTest extends TestCase {
 				throw exceptionOnSave;
 			}
 			super.saveEditors_e_3_x(page, memento);
+			if (editorState != null) {
+				memento.putString("editorState", editorState);
+			}
 		}
 
 		@Override
@@ -70,6 +74,9 @@ public class EditorStateParticipantTest extends TestCase {
 				throw exceptionOnSave;
 			}
 			super.saveEditors_e_8_2(page, memento);
+			if (editorState != null) {
+				memento.putString("editorState", editorState);
+			}
 		}
 
 		@Override
@@ -78,6 +85,9 @@ public class EditorStateParticipantTest extends TestCase {
 				throw exceptionOnSave;
 			}
 			super.saveEditors_e_4_legacy(page, memento);
+			if (editorState != null) {
+				memento.putString("editorState", editorState);
+			}
 		}
 	}
 
@@ -93,6 +103,8 @@ public class EditorStateParticipantTest extends TestCase {
 
 	private Exception exceptionOnSave;
 
+	private String editorState;
+
 	@Override
 	protected void setUp() throws Exception {
 		participant = new MyEditorStateParticipant();
@@ -132,6 +144,29 @@ public class EditorStateParticipantTest extends TestCase {
 		assertEquals(new FileEditorInput(fileA), page.getEditorReferences()[1].getEditorInput());
 	}
 
+	public void testSaveStateChangedEditorMementoAfterReactivation() throws Exception {
+		createFilesAndOpenEditors();
+		ContextStateManager manager = new ContextStateManager();
+		manager.addParticipant(participant);
+		IInteractionContext context = new InteractionContext("id", new InteractionContextScaling());
+
+		editorState = "first";
+		ContextState state = manager.saveState(context, true);
+		participant.closeAllEditors();
+		manager.restoreState(context, new ByteArrayInputStream(toBytes(manager, state)));
+
+		// the set of open editors is unchanged but the state of an editor changed
+		editorState = "second";
+		state = manager.saveState(context, true);
+		assertTrue(state.isDirty());
+		participant.closeAllEditors();
+		manager.restoreState(context, new ByteArrayInputStream(toBytes(manager, state)));
+
+		state = manager.read(context, new ByteArrayInputStream(toBytes(manager, state)));
+		IMemento editors = state.getMemento(EditorStateParticipant.MEMENTO_EDITORS);
+		assertEquals("second", editors.getChild("MonitoredWindowOpenEditors").getString("editorState"));
+	}
+
 	public void testRestoreState_3_7() throws Exception {
 		createFiles();
 
@@ -206,6 +241,12 @@ public class EditorStateParticipantTest extends TestCase {
 		}
 	}
 
+	private byte[] toBytes(ContextStateManager manager, ContextState state) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		manager.write(out, state);
+		return out.toByteArray();
+	}
+
 	private String toString(XMLMemento memento) throws IOException {
 		File workspace = ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile();
 		OutputStream out = new ByteArrayOutputStream();
@@ -73,4 +73,41 @@ public class InteractionContextTest extends AbstractContextTest {
 		assertNotNull(context.get("1"));
 	}
 
+	public void testGetLastEvent() {
+		InteractionContext context = new InteractionContext("test", new InteractionContextScaling());
+		assertNull(context.getLastEvent());
+		assertEquals(0, context.getInteractionHistorySize());
+
+		InteractionEvent event1 = mockSelection("1");
+		context.parseEvent(event1);
+		assertSame(event1, context.getLastEvent());
+
+		InteractionEvent event2 = mockSelection("2");
+		context.parseEvent(event2);
+		assertSame(event2, context.getLastEvent());
+		assertEquals(2, context.getInteractionHistorySize());
+
+		context.reset();
+		assertNull(context.getLastEvent());
+	}
+
+	public void testGetLastEventWithLargeHistory() {
+		InteractionContext context = new InteractionContext("test", new InteractionContextScaling());
+		InteractionEvent event = mockSelection("1");
+		for (int i = 0; i < 1000000; i++) {
+			context.parseEvent(event);
+		}
+		InteractionEvent lastEvent = mockSelection("2");
+
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < 10000; i++) {
+			context.parseEvent(lastEvent);
+			assertSame(lastEvent, context.getLastEvent());
+		}
+		long time = System.currentTimeMillis() - start;
+
+		assertEquals(1010000, context.getInteractionHistorySize());
+		assertTrue("reading the last event took " + time + " ms", time < 1000);
+	}
+
 }
@@ -12,47 +12,158 @@ package org.eclipse.mylyn.internal.context.ui;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.context.core.AbstractContextStructureBridge;
 import org.eclipse.mylyn.context.core.ContextComputationStrategy;
+import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionContext;
 
 /**
- * A compound context computation strategy, that uses delegates to do the work of computing a context.
- * 
+ * A compound context computation strategy, that uses delegates to do the work of computing a context. Delegates run
+ * concurrently on a bounded number of threads and their results are merged in delegate order, omitting objects whose
+ * handle was already contributed by an earlier delegate.
+ *
  * @author David Green
  * @since 3.6
  */
 public class CompoundContextComputationStrategy extends ContextComputationStrategy {
 
+	private static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
+	private static final long POLL_INTERVAL = 100;
+
+	private static final int WORK_PER_DELEGATE = 1000;
+
 	private List<ContextComputationStrategy> delegates;
 
+	private int maxParallelism = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	private long timeout = DEFAULT_TIMEOUT;
+
 	@Override
-	public List<Object> computeContext(IInteractionContext context, IAdaptable input, IProgressMonitor monitor) {
+	public List<Object> computeContext(final IInteractionContext context, final IAdaptable input,
+			IProgressMonitor monitor) {
 		if (delegates == null || delegates.isEmpty()) {
 			return Collections.emptyList();
 		}
-		List<Object> objects = new ArrayList<Object>();
+		List<ContextComputationStrategy> strategies = new ArrayList<ContextComputationStrategy>(delegates);
+
+		final SubMonitor progress = SubMonitor.convert(monitor);
+		progress.beginTask(Messages.CompoundContextComputationStrategy_Computing_Context_Task_Label, strategies.size()
+				* WORK_PER_DELEGATE);
 
-		SubMonitor progress = SubMonitor.convert(monitor);
-		int workPerDelegate = 1000;
-		progress.beginTask(Messages.CompoundContextComputationStrategy_Computing_Context_Task_Label, delegates.size()
-				* workPerDelegate);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(strategies.size(), maxParallelism),
+				new DelegateThreadFactory());
+		List<DelegateMonitor> monitors = new ArrayList<DelegateMonitor>(strategies.size());
+		List<Future<List<Object>>> futures = new ArrayList<Future<List<Object>>>(strategies.size());
 		try {
-			for (ContextComputationStrategy delegate : delegates) {
-				if (progress.isCanceled()) {
-					break;
-				}
-				objects.addAll(delegate.computeContext(context, input, progress.newChild(workPerDelegate)));
+			for (final ContextComputationStrategy delegate : strategies) {
+				final DelegateMonitor delegateMonitor = new DelegateMonitor(progress, WORK_PER_DELEGATE);
+				monitors.add(delegateMonitor);
+				futures.add(executor.submit(new Callable<List<Object>>() {
+					public List<Object> call() throws Exception {
+						return delegate.computeContext(context, input, delegateMonitor);
+					}
+				}));
 			}
+
+			long deadline = System.currentTimeMillis() + timeout;
+			List<List<Object>> results = new ArrayList<List<Object>>(strategies.size());
+			for (int i = 0; i < futures.size(); i++) {
+				results.add(await(strategies.get(i), futures.get(i), monitors.get(i), monitors, progress, deadline));
+				progress.worked(monitors.get(i).finish());
+			}
+			return merge(results);
 		} finally {
+			// delegates are not interrupted since they may be performing I/O, they are expected to check their monitor
+			for (DelegateMonitor delegateMonitor : monitors) {
+				delegateMonitor.setCanceled(true);
+			}
+			executor.shutdown();
 			progress.done();
 		}
+	}
+
+	private List<Object> await(ContextComputationStrategy delegate, Future<List<Object>> future,
+			DelegateMonitor delegateMonitor, List<DelegateMonitor> monitors, IProgressMonitor progress, long deadline) {
+		while (true) {
+			if (progress.isCanceled()) {
+				delegateMonitor.setCanceled(true);
+				future.cancel(false);
+				return Collections.emptyList();
+			}
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				delegateMonitor.setCanceled(true);
+				future.cancel(false);
+				StatusHandler.log(new Status(IStatus.WARNING, ContextUiPlugin.ID_PLUGIN,
+						"Context computation did not complete in time: " + delegate.getClass().getName())); //$NON-NLS-1$
+				return Collections.emptyList();
+			}
+			try {
+				List<Object> result = future.get(Math.min(remaining, POLL_INTERVAL), TimeUnit.MILLISECONDS);
+				return (result != null) ? result : Collections.<Object> emptyList();
+			} catch (TimeoutException e) {
+				// check for cancellation and deadline again
+				for (DelegateMonitor monitor : monitors) {
+					progress.worked(monitor.collectWork());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				delegateMonitor.setCanceled(true);
+				future.cancel(false);
+				return Collections.emptyList();
+			} catch (ExecutionException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, ContextUiPlugin.ID_PLUGIN,
+						"Context computation failed: " + delegate.getClass().getName(), e.getCause())); //$NON-NLS-1$
+				return Collections.emptyList();
+			}
+		}
+	}
 
-		return objects;
+	private List<Object> merge(List<List<Object>> results) {
+		Map<Object, Object> objectByKey = new LinkedHashMap<Object, Object>();
+		for (List<Object> result : results) {
+			for (Object object : result) {
+				Object key = getKey(object);
+				if (!objectByKey.containsKey(key)) {
+					objectByKey.put(key, object);
+				}
+			}
+		}
+		return new ArrayList<Object>(objectByKey.values());
+	}
+
+	private Object getKey(Object object) {
+		if (object != null) {
+			AbstractContextStructureBridge bridge = ContextCore.getStructureBridge(object);
+			if (bridge != null) {
+				String handle = bridge.getHandleIdentifier(object);
+				if (handle != null) {
+					return bridge.getContentType() + ":" + handle; //$NON-NLS-1$
+				}
+			}
+		}
+		return object;
 	}
 
 	public List<ContextComputationStrategy> getDelegates() {
@@ -63,4 +174,117 @@ public class CompoundContextComputationStrategy extends ContextComputationStrate
 		this.delegates = delegates;
 	}
 
+	public int getMaxParallelism() {
+		return maxParallelism;
+	}
+
+	/**
+	 * Sets the maximum number of delegates that are run concurrently.
+	 */
+	public void setMaxParallelism(int maxParallelism) {
+		this.maxParallelism = Math.max(1, maxParallelism);
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which delegates that have not completed are canceled and their results
+	 * discarded.
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * A progress monitor handed to a single delegate that is canceled when the parent monitor is canceled or the
+	 * delegate exceeds its deadline. Since {@link SubMonitor} is not safe for concurrent use, progress reported by the
+	 * delegate is recorded and forwarded to the parent monitor by the thread that awaits the delegates.
+	 */
+	private static class DelegateMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor parent;
+
+		private final int parentWork;
+
+		private volatile boolean canceled;
+
+		private int totalWork;
+
+		private double worked;
+
+		/** Only accessed by the thread that owns the parent monitor. */
+		private int reportedWork;
+
+		public DelegateMonitor(IProgressMonitor parent, int parentWork) {
+			this.parent = parent;
+			this.parentWork = parentWork;
+		}
+
+		@Override
+		public synchronized void beginTask(String name, int totalWork) {
+			this.totalWork = totalWork;
+			this.worked = 0;
+		}
+
+		@Override
+		public void worked(int work) {
+			internalWorked(work);
+		}
+
+		@Override
+		public synchronized void internalWorked(double work) {
+			worked += work;
+		}
+
+		/**
+		 * Returns the work of the parent monitor that corresponds to the progress made since the last invocation.
+		 */
+		public int collectWork() {
+			int work;
+			synchronized (this) {
+				if (totalWork <= 0) {
+					return 0;
+				}
+				work = (int) (Math.min(1, worked / totalWork) * parentWork);
+			}
+			int delta = Math.max(0, work - reportedWork);
+			reportedWork += delta;
+			return delta;
+		}
+
+		/**
+		 * Returns the work of the parent monitor that has not been reported yet.
+		 */
+		public int finish() {
+			int delta = parentWork - reportedWork;
+			reportedWork = parentWork;
+			return delta;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return canceled || parent.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			this.canceled = canceled;
+		}
+
+	}
+
+	private static class DelegateThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger count = new AtomicInteger();
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Context Computation-" + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
 }
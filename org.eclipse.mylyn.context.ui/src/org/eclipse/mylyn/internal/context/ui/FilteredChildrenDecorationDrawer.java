@@ -113,7 +113,7 @@ public class FilteredChildrenDecorationDrawer implements Listener {
 
 			int imageStartX = getImageStartX(item.getBounds().x, item.getBounds().width, tree);
 
-			int imageEndX = imageStartX + moreImage.getBounds().width;
+			int imageEndX = imageStartX + moreImageBounds.width;
 
 			return selectedX > imageStartX && selectedX < imageEndX;
 		}
@@ -232,6 +232,11 @@ public class FilteredChildrenDecorationDrawer implements Listener {
 
 	private final Image moreErrorImage = CommonImages.getImage(CommonImages.REMOVE);
 
+	// bounds are cached since querying them allocates and may require a native call on every paint
+	private final Rectangle moreImageBounds = moreImage.getBounds();
+
+	private final Rectangle moreErrorImageBounds = moreErrorImage.getBounds();
+
 	enum NodeState {
 		MORE, LESS, MORE_ERROR
 	};
@@ -299,31 +304,36 @@ public class FilteredChildrenDecorationDrawer implements Listener {
 			if (tree.isDisposed() || event.index != 0) {
 				return;
 			}
-			TreeItem item = findItem(tree, event.y);
+			// use the painted item rather than hit testing the tree, the hover state is already cached on the item
+			TreeItem item = (event.item instanceof TreeItem) ? (TreeItem) event.item : null;
 			if (item == null || item.isDisposed()) {
 				return;
 			}
 
-			int imageStartX = getImageStartX(event.x, event.width, tree);
-
 			NodeState value = (NodeState) item.getData(ID_HOVER);
+			if (value != NodeState.MORE && value != NodeState.MORE_ERROR) {
+				// nothing to draw
+				return;
+			}
+
+			int imageStartX = getImageStartX(event.x, event.width, tree);
 
 			int imageStartY = event.y;
-			int imageHeight = moreImage.getBounds().height;
-			if (value != null && value.equals(NodeState.MORE_ERROR)) {
-				imageHeight = moreErrorImage.getBounds().height;
+			int imageHeight = moreImageBounds.height;
+			if (value == NodeState.MORE_ERROR) {
+				imageHeight = moreErrorImageBounds.height;
 			}
 
 			int offset = Math.round(((float) event.height) / 2 - ((float) imageHeight) / 2);
 			imageStartY += offset;
 			Rectangle clipping = event.gc.getClipping();
 			if (clipping.width < imageStartX && clipping.width > 0) {
-				clipping.width += IMAGE_PADDING + moreImage.getBounds().width;
+				clipping.width += IMAGE_PADDING + moreImageBounds.width;
 				event.gc.setClipping(clipping);
 			}
-			if (value != null && value.equals(NodeState.MORE)) {
+			if (value == NodeState.MORE) {
 				event.gc.drawImage(moreImage, imageStartX, imageStartY);
-			} else if (value != null && value.equals(NodeState.MORE_ERROR)) {
+			} else if (value == NodeState.MORE_ERROR) {
 				event.gc.drawImage(moreErrorImage, imageStartX, imageStartY);
 			}
 			break;
@@ -334,17 +344,17 @@ public class FilteredChildrenDecorationDrawer implements Listener {
 	private int getImageStartX(int x, int width, Tree tree) {
 		int imageStartX = x + width + IMAGE_PADDING;
 
-		int imageEndX = imageStartX + moreImage.getBounds().width;
+		int imageEndX = imageStartX + moreImageBounds.width;
 
 		Rectangle clientArea = tree.getClientArea();
 		int currentTreeBounds = clientArea.x + clientArea.width;
 		if (imageStartX > currentTreeBounds) {
-			imageStartX = currentTreeBounds - moreImage.getBounds().width;
+			imageStartX = currentTreeBounds - moreImageBounds.width;
 		}
 
 		float tolerance = 0;//moreImage.getBounds().width - (((float) moreImage.getBounds().width) / 3 * 2); // draw over item if more than 33% of the image is hidden 
 		if (imageEndX > currentTreeBounds && imageEndX - currentTreeBounds > tolerance) {
-			imageStartX = currentTreeBounds - moreImage.getBounds().width;
+			imageStartX = currentTreeBounds - moreImageBounds.width;
 		}
 		return imageStartX;
 	}
@@ -11,6 +11,9 @@
 
 package org.eclipse.mylyn.internal.context.ui.state;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.ui.IMemento;
@@ -31,6 +34,8 @@ public class ContextState {
 
 	private final XMLMemento memento;
 
+	private final List<String> types = new ArrayList<String>();
+
 	public ContextState(IInteractionContext context, String contextHandle, XMLMemento memento) {
 		Assert.isNotNull(memento);
 		Assert.isNotNull(contextHandle);
@@ -75,9 +80,19 @@ public class ContextState {
 
 	public IMemento createMemento(String type) {
 		dirty = true;
+		if (!types.contains(type)) {
+			types.add(type);
+		}
 		return memento.createChild(type);
 	}
 
+	/**
+	 * Returns the types of mementos that were created through {@link #createMemento(String)}.
+	 */
+	List<String> getMementoTypes() {
+		return types;
+	}
+
 	public boolean isDirty() {
 		return dirty;
 	}
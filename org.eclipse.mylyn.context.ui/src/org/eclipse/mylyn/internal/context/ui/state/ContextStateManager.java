@@ -18,6 +18,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -27,6 +29,7 @@ import org.eclipse.mylyn.commons.core.CommonListenerList.Notifier;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.mylyn.internal.context.ui.ContextUiPlugin;
+import org.eclipse.ui.IMemento;
 import org.eclipse.ui.XMLMemento;
 
 /**
@@ -42,6 +45,13 @@ public class ContextStateManager {
 
 	private final ContextState defaultState;
 
+	private String lastContextHandle;
+
+	private Map<ContextStateParticipant, String> lastFingerprints;
+
+	/** The sections that participants contributed to the last saved state of {@link #lastContextHandle}. */
+	private Map<ContextStateParticipant, ContextState> lastSections;
+
 	public ContextStateManager() {
 		this.participants = new CommonListenerList<ContextStateParticipant>(ContextUiPlugin.ID_PLUGIN);
 		this.defaultState = createMemento(null, "default"); //$NON-NLS-1$
@@ -52,6 +62,11 @@ public class ContextStateManager {
 	}
 
 	public void clearState(final String contextHandle, final boolean isActiveContext) {
+		if (contextHandle != null && contextHandle.equals(lastContextHandle)) {
+			lastContextHandle = null;
+			lastFingerprints = null;
+			lastSections = null;
+		}
 		participants.notify(new Notifier<ContextStateParticipant>() {
 			@Override
 			public void run(ContextStateParticipant participant) throws Exception {
@@ -115,6 +130,9 @@ public class ContextStateManager {
 				}
 			}
 		});
+		lastContextHandle = memento.getContextHandle();
+		lastFingerprints = getFingerprints();
+		lastSections = null;
 	}
 
 	public void saveDefaultState() {
@@ -133,17 +151,67 @@ public class ContextStateManager {
 	}
 
 	public void saveState(IInteractionContext context, OutputStream storable, final boolean allowModifications) {
+		write(storable, saveState(context, allowModifications));
+	}
+
+	/**
+	 * Collects the state of all participants. Participants whose fingerprint has not changed since the state of the
+	 * same context was last saved contribute the section they saved last time instead of saving their state again,
+	 * unless <code>allowModifications</code> is set since participants may update the workbench while saving. The
+	 * returned state is only marked dirty if the fingerprint of a participant changed since the state was last restored
+	 * or saved, otherwise persisting it is not required.
+	 */
+	public ContextState saveState(IInteractionContext context, final boolean allowModifications) {
 		final ContextState memento = createMemento(context, context.getHandleIdentifier());
+		final boolean sameContext = memento.getContextHandle().equals(lastContextHandle);
+		// fingerprints reflect the state before participants modify the workbench
+		final Map<ContextStateParticipant, String> fingerprints = getFingerprints();
+		final Map<ContextStateParticipant, ContextState> sections = new HashMap<ContextStateParticipant, ContextState>();
 		participants.notify(new Notifier<ContextStateParticipant>() {
 			@Override
 			public void run(ContextStateParticipant participant) throws Exception {
 				if (participant.isEnabled()) {
-					participant.saveState(memento, allowModifications);
+					ContextState section = null;
+					if (!allowModifications && sameContext && lastSections != null && lastFingerprints != null) {
+						String fingerprint = fingerprints.get(participant);
+						if (fingerprint != null && fingerprint.equals(lastFingerprints.get(participant))) {
+							section = lastSections.get(participant);
+						}
+					}
+					if (section == null) {
+						section = createMemento(memento.getContext(), memento.getContextHandle());
+						participant.saveState(section, allowModifications);
+					}
+					for (String type : section.getMementoTypes()) {
+						for (IMemento child : section.getMemento().getChildren(type)) {
+							memento.createMemento(type).putMemento(child);
+						}
+					}
+					sections.put(participant, section);
 				}
 			}
 		});
 
-		write(storable, memento);
+		boolean changed = lastFingerprints == null || !sameContext || fingerprints.containsValue(null)
+				|| !fingerprints.equals(lastFingerprints);
+		memento.setDirty(changed);
+		lastContextHandle = memento.getContextHandle();
+		lastFingerprints = fingerprints;
+		lastSections = sections;
+		return memento;
+	}
+
+	private Map<ContextStateParticipant, String> getFingerprints() {
+		final Map<ContextStateParticipant, String> fingerprints = new HashMap<ContextStateParticipant, String>();
+		participants.notify(new Notifier<ContextStateParticipant>() {
+			@Override
+			public void run(ContextStateParticipant participant) throws Exception {
+				if (participant.isEnabled()) {
+					fingerprints.put(participant, participant.getStateFingerprint());
+				}
+			}
+		});
+		return fingerprints;
 	}
 
 	public void write(OutputStream out, ContextState memento) {
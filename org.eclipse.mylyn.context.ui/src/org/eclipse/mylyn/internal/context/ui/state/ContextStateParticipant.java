@@ -28,4 +28,13 @@ public abstract class ContextStateParticipant {
 
 	public abstract void saveState(ContextState memento, boolean allowModifications);
 
+	/**
+	 * Returns a value that is cheap to compute and changes whenever the state that would be saved by this participant
+	 * changes. The default implementation returns <code>null</code> which indicates that the state needs to be
+	 * persisted on every save.
+	 */
+	public String getStateFingerprint() {
+		return null;
+	}
+
 }
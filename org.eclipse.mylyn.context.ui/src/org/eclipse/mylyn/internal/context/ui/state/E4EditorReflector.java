@@ -45,6 +45,20 @@ public class E4EditorReflector {
 
 	private Class<?> mApplicationElementClazz;
 
+	// method lookups are cached since the reflector is reused across save and restore
+
+	private Method findElementsMethod;
+
+	private Method getPersistedStateMethod;
+
+	private Method createPartMethod;
+
+	private Method getElementIdMethod;
+
+	private Method createEditorReferenceForPartMethod;
+
+	private Method showPartMethod;
+
 	public E4EditorReflector() {
 		try {
 			eModelServiceClazz = Class.forName("org.eclipse.e4.ui.workbench.modeling.EModelService"); //$NON-NLS-1$
@@ -70,11 +84,13 @@ public class E4EditorReflector {
 
 			// EModelService modelService = PlatformUI.getWorkbench().getService(EModelService.class);
 			Object modelService = getModelService();
-			Method findElements = eModelServiceClazz.getDeclaredMethod("findElements", mUiElementClazz, String.class, //$NON-NLS-1$
-					Class.class, List.class, int.class);
+			if (findElementsMethod == null) {
+				findElementsMethod = eModelServiceClazz.getDeclaredMethod("findElements", mUiElementClazz, //$NON-NLS-1$
+						String.class, Class.class, List.class, int.class);
+			}
 
 			//List<MPart> editors = modelService.findElements(page.getWindowModel(), CompatibilityEditor.MODEL_ELEMENT_ID, MPart.class, null, EModelService.IN_SHARED_AREA);
-			List<?> editors = (List<?>) findElements.invoke(modelService, windowModel, MODEL_ELEMENT_ID, mPartClazz,
+			List<?> editors = (List<?>) findElementsMethod.invoke(modelService, windowModel, MODEL_ELEMENT_ID, mPartClazz,
 					null, 0x08);
 			return editors;
 		} catch (Exception e) {
@@ -93,7 +109,9 @@ public class E4EditorReflector {
 	public Map<String, String> getPersistedState(Object editor) {
 		try {
 			//String state = editor.getPersistedState().get("memento");
-			Method getPersistedStateMethod = mApplicationElementClazz.getDeclaredMethod("getPersistedState"); //$NON-NLS-1$
+			if (getPersistedStateMethod == null) {
+				getPersistedStateMethod = mApplicationElementClazz.getDeclaredMethod("getPersistedState"); //$NON-NLS-1$
+			}
 			Map<String, String> persistedState = (Map<String, String>) getPersistedStateMethod.invoke(editor);
 			return persistedState;
 		} catch (Exception e) {
@@ -105,8 +123,10 @@ public class E4EditorReflector {
 		try {
 			Object partService = getPartService(window);
 			// MPart editor = partService.createPart(CompatibilityEditor.MODEL_ELEMENT_ID);
-			Method method = ePartServiceClazz.getDeclaredMethod("createPart", String.class); //$NON-NLS-1$
-			return method.invoke(partService, MODEL_ELEMENT_ID);
+			if (createPartMethod == null) {
+				createPartMethod = ePartServiceClazz.getDeclaredMethod("createPart", String.class); //$NON-NLS-1$
+			}
+			return createPartMethod.invoke(partService, MODEL_ELEMENT_ID);
 		} catch (Exception e) {
 			throw handleException(e);
 		}
@@ -115,19 +135,21 @@ public class E4EditorReflector {
 	public IEditorReference showPart(WorkbenchPage page, Object editorPart) {
 		try {
 			//EditorReference reference = page.createEditorReferenceForPart(editor, null, editor.getElementId(), null);
-			Method method = mApplicationElementClazz.getDeclaredMethod("getElementId"); //$NON-NLS-1$
-			String elementId = (String) method.invoke(editorPart);
+			if (getElementIdMethod == null) {
+				getElementIdMethod = mApplicationElementClazz.getDeclaredMethod("getElementId"); //$NON-NLS-1$
+				createEditorReferenceForPartMethod = WorkbenchPage.class.getDeclaredMethod(
+						"createEditorReferenceForPart", mPartClazz, IEditorInput.class, String.class, IMemento.class); //$NON-NLS-1$
+				showPartMethod = ePartServiceClazz.getDeclaredMethod("showPart", mPartClazz, partStateClazz); //$NON-NLS-1$
+			}
+			String elementId = (String) getElementIdMethod.invoke(editorPart);
 
-			method = WorkbenchPage.class.getDeclaredMethod("createEditorReferenceForPart", mPartClazz, //$NON-NLS-1$
-					IEditorInput.class, String.class, IMemento.class);
-			Object editorReference = method.invoke(page, editorPart, null, elementId, null);
+			Object editorReference = createEditorReferenceForPartMethod.invoke(page, editorPart, null, elementId, null);
 
 			Object partService = getPartService(page.getWorkbenchWindow());
 			// PartState.ACTIVATE
 			Object partStateActivate = partStateClazz.getEnumConstants()[0];
 			//partService.showPart(editor, PartState.ACTIVATE);
-			method = ePartServiceClazz.getDeclaredMethod("showPart", mPartClazz, partStateClazz); //$NON-NLS-1$
-			method.invoke(partService, editorPart, partStateActivate);
+			showPartMethod.invoke(partService, editorPart, partStateActivate);
 
 			return (IEditorReference) editorReference;
 		} catch (Exception e) {
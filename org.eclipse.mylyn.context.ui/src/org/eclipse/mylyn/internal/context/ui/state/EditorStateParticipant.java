@@ -86,6 +86,12 @@ public class EditorStateParticipant extends ContextStateParticipant {
 
 	private String savedContextHandle;
 
+	private E4EditorReflector reflector;
+
+	private static Boolean is_3_x;
+
+	private static Boolean is_3_8_2;
+
 	public EditorStateParticipant() {
 		this.enabled = true;
 	}
@@ -259,6 +265,22 @@ public class EditorStateParticipant extends ContextStateParticipant {
 		savedMemento = null;
 	}
 
+	/**
+	 * Returns <code>null</code> since the saved state includes the mementos of editors, e.g. the scroll position, which
+	 * cannot be fingerprinted without serializing them.
+	 */
+	@Override
+	public String getStateFingerprint() {
+		return null;
+	}
+
+	private E4EditorReflector getReflector() {
+		if (reflector == null) {
+			reflector = new E4EditorReflector();
+		}
+		return reflector;
+	}
+
 	protected void saveEditors_e_8_2(IWorkbenchPage page, IMemento memento) throws Exception {
 		Method getEditorStateMethod = IWorkbenchPage.class.getDeclaredMethod(
 				"getEditorState", IEditorReference[].class, boolean.class); //$NON-NLS-1$
@@ -277,8 +299,8 @@ public class EditorStateParticipant extends ContextStateParticipant {
 		SafeRunner.run(new SafeRunnable() {
 			public void run() {
 				for (EditorReference reference : editorReferences) {
-					// realize editor
-					IEditorPart editor = reference.getEditor(true);
+					// editors that were never realized still carry the persisted state they were restored from
+					IEditorPart editor = reference.getEditor(false);
 					if (editor != null) {
 						Method method;
 						try {
@@ -293,7 +315,7 @@ public class EditorStateParticipant extends ContextStateParticipant {
 			}
 		});
 
-		E4EditorReflector reflector = new E4EditorReflector();
+		E4EditorReflector reflector = getReflector();
 		List<?> editors = reflector.findElements(page);
 		for (Object editor : editors) {
 			Map<String, String> persistedState = reflector.getPersistedState(editor);
@@ -389,27 +411,33 @@ public class EditorStateParticipant extends ContextStateParticipant {
 	 * Returns true if the environment supports the Eclipse 3.8.2/4.2.2 API for editor save and restore.
 	 */
 	private boolean is_3_8_2() {
-		try {
-			IWorkbenchPage.class.getDeclaredMethod(
-					"openEditors", IEditorInput[].class, String[].class, IMemento[].class, int.class, int.class); //$NON-NLS-1$
-			return true;
-		} catch (NoSuchMethodException e) {
-			return false;
+		if (is_3_8_2 == null) {
+			try {
+				IWorkbenchPage.class.getDeclaredMethod(
+						"openEditors", IEditorInput[].class, String[].class, IMemento[].class, int.class, int.class); //$NON-NLS-1$
+				is_3_8_2 = true;
+			} catch (NoSuchMethodException e) {
+				is_3_8_2 = false;
+			}
 		}
+		return is_3_8_2;
 	}
 
 	/**
 	 * Returns true if the environment supports the Eclipse 3.x API for editor save and restore.
 	 */
 	protected boolean is_3_x() {
-		try {
-			Class<?> editorManager = Class.forName("org.eclipse.ui.internal.EditorManager"); //$NON-NLS-1$
-			editorManager.getDeclaredMethod("restoreEditorState", //$NON-NLS-1$
-					IMemento.class, ArrayList.class, IEditorReference[].class, MultiStatus.class);
-			return true;
-		} catch (Exception e) {
-			return false;
+		if (is_3_x == null) {
+			try {
+				Class<?> editorManager = Class.forName("org.eclipse.ui.internal.EditorManager"); //$NON-NLS-1$
+				editorManager.getDeclaredMethod("restoreEditorState", //$NON-NLS-1$
+						IMemento.class, ArrayList.class, IEditorReference[].class, MultiStatus.class);
+				is_3_x = true;
+			} catch (Exception e) {
+				is_3_x = false;
+			}
 		}
+		return is_3_x;
 	}
 
 	private void restoreEditors_e_3_8_2(WorkbenchPage page, final ArrayList<?> visibleEditors,
@@ -422,7 +450,7 @@ public class EditorStateParticipant extends ContextStateParticipant {
 
 	private void restoreEditors_e_4_legacy(WorkbenchPage page, ArrayList<?> visibleEditors,
 			IEditorReference[] activeEditor, MultiStatus result, Set<IMemento> mementos) throws Exception {
-		E4EditorReflector reflector = new E4EditorReflector();
+		E4EditorReflector reflector = getReflector();
 		for (IMemento memento : mementos) {
 			StringWriter writer = new StringWriter();
 			boolean found = false;
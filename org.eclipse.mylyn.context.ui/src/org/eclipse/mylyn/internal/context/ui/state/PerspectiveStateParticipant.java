@@ -111,6 +111,11 @@ public class PerspectiveStateParticipant extends ContextStateParticipant {
 		}
 	}
 
+	@Override
+	public String getStateFingerprint() {
+		return getActivePerspectiveId();
+	}
+
 	private String getActivePerspectiveId(IWorkbenchWindow window) {
 		Assert.isNotNull(window);
 		IPerspectiveDescriptor descriptor = window.getActivePage().getPerspective();
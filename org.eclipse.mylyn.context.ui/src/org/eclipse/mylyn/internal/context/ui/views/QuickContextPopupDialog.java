@@ -20,7 +20,6 @@ import org.eclipse.jface.dialogs.PopupDialog;
 import org.eclipse.jface.text.IInformationControl;
 import org.eclipse.jface.text.IInformationControlExtension;
 import org.eclipse.jface.text.IInformationControlExtension2;
-import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.mylyn.context.ui.InterestFilter;
@@ -70,6 +69,8 @@ public class QuickContextPopupDialog extends PopupDialog implements IInformation
 
 	private StringMatcher fStringMatcher;
 
+	private String fFilterString = ""; //$NON-NLS-1$
+
 	private QuickOutlinePatternAndInterestFilter namePatternFilter;
 
 	private ContextNodeOpenListener openListener;
@@ -369,6 +370,9 @@ public class QuickContextPopupDialog extends PopupDialog implements IInformation
 		fFilterText.addModifyListener(new ModifyListener() {
 			public void modifyText(ModifyEvent e) {
 				String text = ((Text) e.widget).getText();
+				// typing additional characters can only remove elements unless wildcards are involved
+				boolean narrowing = fFilterString.length() > 0 && text.contains(fFilterString) && !hasWildcards(text);
+				fFilterString = text;
 				int length = text.length();
 				if (length > 0) {
 					// Append a '*' pattern to the end of the text value if it
@@ -383,11 +387,15 @@ public class QuickContextPopupDialog extends PopupDialog implements IInformation
 					}
 				}
 				// Set and update the pattern
-				setMatcherString(text, true);
+				setMatcherString(text, narrowing, true);
 			}
 		});
 	}
 
+	private boolean hasWildcards(String text) {
+		return text.indexOf('*') != -1 || text.indexOf('?') != -1;
+	}
+
 	/**
 	 * Sets the patterns to filter out for the receiver.
 	 * <p>
@@ -396,17 +404,19 @@ public class QuickContextPopupDialog extends PopupDialog implements IInformation
 	 * 
 	 * @param pattern
 	 *            the pattern
+	 * @param narrowing
+	 *            <code>true</code> if the pattern only matches a subset of the elements matched by the previous pattern
 	 * @param update
 	 *            <code>true</code> if the viewer should be updated
 	 */
-	private void setMatcherString(String pattern, boolean update) {
+	private void setMatcherString(String pattern, boolean narrowing, boolean update) {
 		if (pattern.length() == 0) {
 			fStringMatcher = null;
 		} else {
 			fStringMatcher = new StringMatcher(pattern, true, false);
 		}
 		// Update the name pattern filter on the tree viewer
-		namePatternFilter.setStringMatcher(fStringMatcher);
+		namePatternFilter.setStringMatcher(fStringMatcher, narrowing);
 		// Update the tree viewer according to the pattern
 		if (update) {
 			stringMatcherUpdated();
@@ -444,8 +454,6 @@ public class QuickContextPopupDialog extends PopupDialog implements IInformation
 	 * @return
 	 */
 	private Object findFirstMatchToPattern(TreeItem[] items) {
-		// Match the string pattern against labels
-		ILabelProvider labelProvider = (ILabelProvider) commonViewer.getLabelProvider();
 		// Process each item in the tree
 		for (TreeItem item : items) {
 			Object element = item.getData();
@@ -455,8 +463,8 @@ public class QuickContextPopupDialog extends PopupDialog implements IInformation
 			}
 			// Return the element if it matches the pattern
 			if (element != null) {
-				String label = labelProvider.getText(element);
-				if (fStringMatcher.match(label)) {
+				String label = namePatternFilter.getLabel(commonViewer, element);
+				if (label != null && fStringMatcher.match(label)) {
 					return element;
 				}
 			}
@@ -11,6 +11,9 @@
 
 package org.eclipse.mylyn.internal.context.ui.views;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
@@ -20,7 +23,8 @@ import org.eclipse.mylyn.context.ui.InterestFilter;
 import org.eclipse.ui.internal.misc.StringMatcher;
 
 /**
- * Derived from {@link QuickOutlinePatternAndInterestFilter}
+ * Derived from {@link QuickOutlinePatternAndInterestFilter}. Labels, interest and match results are cached per element
+ * since the filter is applied to the complete tree on every change of the pattern.
  * 
  * @author Mik Kersten
  */
@@ -28,6 +32,12 @@ public class QuickOutlinePatternAndInterestFilter extends ViewerFilter {
 
 	private final InterestFilter interestFilter = new InterestFilter();
 
+	private final Map<Object, Boolean> interestCache = new HashMap<Object, Boolean>();
+
+	private final Map<Object, String> labelCache = new HashMap<Object, String>();
+
+	private Map<Object, Boolean> matchCache = new HashMap<Object, Boolean>();
+
 	private StringMatcher stringMatcher;
 
 	public QuickOutlinePatternAndInterestFilter() {
@@ -36,7 +46,11 @@ public class QuickOutlinePatternAndInterestFilter extends ViewerFilter {
 
 	@Override
 	public boolean select(Viewer viewer, Object parentElement, Object element) {
-		boolean isInteresting = interestFilter.select(viewer, parentElement, element);
+		Boolean isInteresting = interestCache.get(element);
+		if (isInteresting == null) {
+			isInteresting = interestFilter.select(viewer, parentElement, element);
+			interestCache.put(element, isInteresting);
+		}
 		if (!isInteresting) {
 			return false;
 		} else {
@@ -46,16 +60,36 @@ public class QuickOutlinePatternAndInterestFilter extends ViewerFilter {
 			if ((stringMatcher == null) || ((viewer instanceof TreeViewer) == false)) {
 				return true;
 			}
-			TreeViewer treeViewer = (TreeViewer) viewer;
-			// Match the pattern against the label of the given element
-			String matchName = ((ILabelProvider) treeViewer.getLabelProvider()).getText(element);
-			// Element passes the filter if it matches the pattern
-			if ((matchName != null) && stringMatcher.match(matchName)) {
-				return true;
+			Boolean matches = matchCache.get(element);
+			if (matches == null) {
+				matches = matches((TreeViewer) viewer, element);
+				matchCache.put(element, matches);
 			}
-			// Determine whether the element has children that pass the filter
-			return hasUnfilteredChild(treeViewer, element);
+			return matches;
+		}
+	}
+
+	private boolean matches(TreeViewer treeViewer, Object element) {
+		// Match the pattern against the label of the given element
+		String matchName = getLabel(treeViewer, element);
+		// Element passes the filter if it matches the pattern
+		if ((matchName != null) && stringMatcher.match(matchName)) {
+			return true;
+		}
+		// Determine whether the element has children that pass the filter
+		return hasUnfilteredChild(treeViewer, element);
+	}
+
+	/**
+	 * Returns the label of <code>element</code>. Labels are computed once for the lifetime of the filter.
+	 */
+	public String getLabel(TreeViewer viewer, Object element) {
+		String label = labelCache.get(element);
+		if (label == null && !labelCache.containsKey(element)) {
+			label = ((ILabelProvider) viewer.getLabelProvider()).getText(element);
+			labelCache.put(element, label);
 		}
+		return label;
 	}
 
 	/**
@@ -79,6 +113,24 @@ public class QuickOutlinePatternAndInterestFilter extends ViewerFilter {
 	}
 
 	public void setStringMatcher(StringMatcher stringMatcher) {
+		setStringMatcher(stringMatcher, false);
+	}
+
+	/**
+	 * Sets the matcher used to filter elements. If <code>narrowing</code> is <code>true</code> the new matcher only
+	 * accepts a subset of the elements accepted by the previous matcher which allows elements rejected before to be
+	 * rejected again without matching their labels.
+	 */
+	public void setStringMatcher(StringMatcher stringMatcher, boolean narrowing) {
+		Map<Object, Boolean> previousMatches = matchCache;
+		matchCache = new HashMap<Object, Boolean>();
+		if (narrowing && this.stringMatcher != null && stringMatcher != null) {
+			for (Map.Entry<Object, Boolean> entry : previousMatches.entrySet()) {
+				if (!entry.getValue()) {
+					matchCache.put(entry.getKey(), Boolean.FALSE);
+				}
+			}
+		}
 		this.stringMatcher = stringMatcher;
 	}
 
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.debug.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IBreakpointManager;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.ContextChangeEvent.ContextChangeKind;
+import org.eclipse.mylyn.context.sdk.java.WorkspaceSetupHelper;
+import org.eclipse.mylyn.internal.context.core.InteractionContext;
+import org.eclipse.mylyn.internal.context.core.InteractionContextScaling;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BreakpointsContextContributorTest {
+
+	private static final String CONTEXT_HANDLE = "contributorTest"; //$NON-NLS-1$
+
+	private final BreakpointsStructureBridge bridge = new BreakpointsStructureBridge();
+
+	private IBreakpointManager breakpointManager;
+
+	private BreakpointsContextContributor contributor;
+
+	private InteractionContext context;
+
+	private boolean manageBreakpoints;
+
+	@Before
+	public void setUp() throws Exception {
+		manageBreakpoints = DebugUiPlugin.getDefault()
+				.getPreferenceStore()
+				.getBoolean(BreakpointsContextContributor.AUTO_MANAGE_BREAKPOINTS);
+		BreakpointsTestUtil.setManageBreakpointsPreference(false);
+		breakpointManager = DebugPlugin.getDefault().getBreakpointManager();
+		contributor = new BreakpointsContextContributor();
+		context = new InteractionContext(CONTEXT_HANDLE, new InteractionContextScaling());
+		BreakpointsTestUtil.createProject();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		BreakpointsTestUtil.setManageBreakpointsPreference(false);
+		contributor.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, CONTEXT_HANDLE, context, null));
+		BreakpointsTestUtil.setManageBreakpointsPreference(manageBreakpoints);
+		WorkspaceSetupHelper.clearWorkspace();
+		breakpointManager.removeBreakpoints(breakpointManager.getBreakpoints(), true);
+	}
+
+	@Test
+	public void testExportReused() throws Exception {
+		addToContext(BreakpointsTestUtil.createTestBreakpoint());
+		activate();
+		assertFalse(contributor.isExportValid());
+
+		String data = export();
+		assertTrue(contributor.isExportValid());
+		assertEquals(data, export());
+		assertTrue(contributor.isExportValid());
+	}
+
+	@Test
+	public void testExportInvalidatedByBreakpointChange() throws Exception {
+		addToContext(BreakpointsTestUtil.createTestBreakpoint());
+		activate();
+		String data = export();
+		assertTrue(contributor.isExportValid());
+
+		IBreakpoint added = BreakpointsTestUtil.createTestBreakpoint(3);
+		assertFalse(contributor.isExportValid());
+
+		addToContext(added);
+		contributor.contextChanged(new ContextChangeEvent(ContextChangeKind.INTEREST_CHANGED, CONTEXT_HANDLE,
+				context, Collections.singletonList(context.get(bridge.getHandleIdentifier(added)))));
+		assertFalse(data.equals(export()));
+		assertTrue(contributor.isExportValid());
+	}
+
+	@Test
+	public void testExportInvalidatedByDeactivation() throws Exception {
+		addToContext(BreakpointsTestUtil.createTestBreakpoint());
+		activate();
+		export();
+		assertTrue(contributor.isExportValid());
+
+		contributor.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, CONTEXT_HANDLE, context, null));
+		assertFalse(contributor.isExportValid());
+		export();
+		assertFalse(contributor.isExportValid());
+	}
+
+	@Test
+	public void testDeactivateRemovesContextBreakpoints() throws Exception {
+		IBreakpoint inContext = BreakpointsTestUtil.createTestBreakpoint(2);
+		IBreakpoint notInContext = BreakpointsTestUtil.createTestBreakpoint(3);
+		addToContext(inContext);
+		activate();
+		assertEquals(2, breakpointManager.getBreakpoints().length);
+
+		// no state was saved on activation, make sure that none is restored
+		File stateFile = Platform.getStateLocation(DebugUiPlugin.getDefault().getBundle())
+				.append(BreakpointsStateUtil.STATE_FILE)
+				.toFile();
+		stateFile.delete();
+		BreakpointsTestUtil.setManageBreakpointsPreference(true);
+		contributor.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, CONTEXT_HANDLE, context, null));
+		Job.getJobManager().join(BreakpointsContextContributor.JOB_FAMILY, null);
+
+		assertEquals(Arrays.asList(notInContext), Arrays.asList(breakpointManager.getBreakpoints()));
+	}
+
+	private void addToContext(IBreakpoint breakpoint) {
+		context.parseEvent(new InteractionEvent(InteractionEvent.Kind.SELECTION, DebugUiPlugin.CONTENT_TYPE,
+				bridge.getHandleIdentifier(breakpoint), "test")); //$NON-NLS-1$
+		assertNotNull(context.get(bridge.getHandleIdentifier(breakpoint)));
+	}
+
+	private void activate() {
+		contributor.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, CONTEXT_HANDLE, context, null));
+	}
+
+	private String export() throws IOException {
+		InputStream in = contributor.getDataAsStream(context);
+		try {
+			return IOUtils.toString(in);
+		} finally {
+			in.close();
+		}
+	}
+
+}
@@ -32,8 +32,12 @@ import org.eclipse.mylyn.context.sdk.java.WorkspaceSetupHelper;
 public class BreakpointsTestUtil {
 
 	public static IBreakpoint createTestBreakpoint() throws DebugException {
+		return createTestBreakpoint(2);
+	}
+
+	public static IBreakpoint createTestBreakpoint(int lineNumber) throws DebugException {
 		IResource testClass = ResourcesPlugin.getWorkspace().getRoot().findMember("/test/src/test.java"); //$NON-NLS-1$
-		return new JavaLineBreakpoint(testClass, "test", 2, 1, 5, 0, true, new HashMap<String, Object>()); //$NON-NLS-1$
+		return new JavaLineBreakpoint(testClass, "test", lineNumber, 1, 5, 0, true, new HashMap<String, Object>()); //$NON-NLS-1$
 	}
 
 	public static List<IBreakpoint> createTestBreakpoints() throws DebugException {
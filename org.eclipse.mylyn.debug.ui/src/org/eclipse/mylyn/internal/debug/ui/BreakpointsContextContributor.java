@@ -10,10 +10,17 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.debug.ui;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -21,13 +28,13 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IBreakpointsListener;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.mylyn.context.core.AbstractContextContributor;
-import org.eclipse.mylyn.context.core.AbstractContextStructureBridge;
 import org.eclipse.mylyn.context.core.ContextChangeEvent;
 import org.eclipse.mylyn.context.core.ContextChangeEvent.ContextChangeKind;
-import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionContext;
+import org.eclipse.mylyn.context.core.IInteractionElement;
 import org.eclipse.mylyn.monitor.core.InteractionEvent;
 
 /**
@@ -40,14 +47,67 @@ public class BreakpointsContextContributor extends AbstractContextContributor {
 
 	private BreakpointsListener breakpointsListener;
 
-	private final AbstractContextStructureBridge structureBridge = ContextCore.getStructureBridge(DebugUiPlugin.CONTENT_TYPE);
+	private String activeContextHandle;
+
+	/**
+	 * The handles of the breakpoints in the active context. Built from the interaction history when first needed and
+	 * then maintained from context events, or null if not built yet.
+	 */
+	private Set<String> activeBreakpointHandles;
+
+	/** The last export of the breakpoints of the active context, valid until a breakpoint or the context changes. */
+	private byte[] exportedData;
+
+	private boolean exportValid;
+
+	/** Incremented when the export is invalidated to discard exports that are computed concurrently. */
+	private int exportVersion;
+
+	private boolean exportListenerRegistered;
+
+	/**
+	 * Breakpoints may change without affecting the context, e.g. while breakpoints are not managed with the context.
+	 */
+	private final IBreakpointsListener exportListener = new IBreakpointsListener() {
+		public void breakpointsAdded(IBreakpoint[] breakpoints) {
+			invalidateExport();
+		}
+
+		public void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			invalidateExport();
+		}
+
+		public void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			invalidateExport();
+		}
+	};
 
 	public InputStream getDataAsStream(IInteractionContext context) {
-		List<IBreakpoint> breakpoints = getContextBreakpoints(context);
-		if (breakpoints.size() == 0) {
-			return null;
+		boolean active;
+		int version;
+		synchronized (this) {
+			active = isActiveContext(context);
+			version = exportVersion;
+			if (active && exportValid) {
+				return (exportedData != null) ? new ByteArrayInputStream(exportedData) : null;
+			}
+			if (active && !exportListenerRegistered) {
+				DebugPlugin.getDefault().getBreakpointManager().addBreakpointListener(exportListener);
+				exportListenerRegistered = true;
+			}
+		}
+
+		List<IBreakpoint> breakpoints = resolveBreakpoints(getBreakpointHandles(context));
+		byte[] data = BreakpointsContextUtil.exportBreakpointData(breakpoints, new NullProgressMonitor());
+		if (active) {
+			synchronized (this) {
+				if (isActiveContext(context) && version == exportVersion) {
+					exportedData = data;
+					exportValid = true;
+				}
+			}
 		}
-		return BreakpointsContextUtil.exportBreakpoints(breakpoints, new NullProgressMonitor());
+		return (data != null) ? new ByteArrayInputStream(data) : null;
 	}
 
 	public String getIdentifier() {
@@ -55,6 +115,8 @@ public class BreakpointsContextContributor extends AbstractContextContributor {
 	}
 
 	public void contextChanged(final ContextChangeEvent event) {
+		final Collection<String> deactivatedHandles = updateBreakpointHandles(event);
+
 		if (!DebugUiPlugin.getDefault().getPreferenceStore().getBoolean(AUTO_MANAGE_BREAKPOINTS)) {
 			if (event.getEventKind() == ContextChangeKind.DEACTIVATED && breakpointsListener != null) {
 				DebugPlugin.getDefault().getBreakpointManager().removeBreakpointListener(breakpointsListener);
@@ -79,7 +141,7 @@ public class BreakpointsContextContributor extends AbstractContextContributor {
 									.getBreakpointManager()
 									.removeBreakpointListener(breakpointsListener);
 						}
-						BreakpointsContextUtil.removeBreakpoints(getContextBreakpoints(event.getContext()));
+						BreakpointsContextUtil.removeBreakpoints(resolveBreakpoints(deactivatedHandles));
 						stateUtil.restoreState();
 					}
 					return Status.OK_STATUS;
@@ -96,12 +158,114 @@ public class BreakpointsContextContributor extends AbstractContextContributor {
 		}
 	}
 
-	private List<IBreakpoint> getContextBreakpoints(IInteractionContext context) {
+	/**
+	 * Tracks the breakpoints of the active context.
+	 * 
+	 * @return the breakpoint handles of the context if it was deactivated, null otherwise
+	 */
+	private synchronized Collection<String> updateBreakpointHandles(ContextChangeEvent event) {
+		switch (event.getEventKind()) {
+		case ACTIVATED:
+			activeContextHandle = event.getContextHandle();
+			activeBreakpointHandles = null;
+			invalidateExport();
+			break;
+		case DEACTIVATED:
+			Collection<String> handles = getBreakpointHandles(event.getContext());
+			activeContextHandle = null;
+			activeBreakpointHandles = null;
+			invalidateExport();
+			if (exportListenerRegistered) {
+				DebugPlugin.getDefault().getBreakpointManager().removeBreakpointListener(exportListener);
+				exportListenerRegistered = false;
+			}
+			return handles;
+		case CLEARED:
+			if (event.getContextHandle().equals(activeContextHandle)) {
+				activeBreakpointHandles = null;
+				invalidateExport();
+			}
+			break;
+		case INTEREST_CHANGED:
+		case LANDMARKS_ADDED:
+		case LANDMARKS_REMOVED:
+		case ELEMENTS_DELETED:
+			for (IInteractionElement element : event.getElements()) {
+				if (DebugUiPlugin.CONTENT_TYPE.equals(element.getContentType())) {
+					if (activeBreakpointHandles != null) {
+						if (event.getEventKind() == ContextChangeKind.ELEMENTS_DELETED) {
+							activeBreakpointHandles.remove(element.getHandleIdentifier());
+						} else {
+							activeBreakpointHandles.add(element.getHandleIdentifier());
+						}
+					}
+					invalidateExport();
+				}
+			}
+			break;
+		}
+		return null;
+	}
+
+	private synchronized Collection<String> getBreakpointHandles(IInteractionContext context) {
+		if (isActiveContext(context)) {
+			if (activeBreakpointHandles == null) {
+				activeBreakpointHandles = collectBreakpointHandles(context);
+			}
+			return new ArrayList<String>(activeBreakpointHandles);
+		}
+		return collectBreakpointHandles(context);
+	}
+
+	private boolean isActiveContext(IInteractionContext context) {
+		return context != null && context.getHandleIdentifier() != null
+				&& context.getHandleIdentifier().equals(activeContextHandle);
+	}
+
+	/**
+	 * Public for testing.
+	 */
+	public synchronized boolean isExportValid() {
+		return exportValid;
+	}
+
+	private synchronized void invalidateExport() {
+		exportVersion++;
+		exportValid = false;
+		exportedData = null;
+	}
+
+	private Set<String> collectBreakpointHandles(IInteractionContext context) {
+		Set<String> handles = new LinkedHashSet<String>();
+		for (InteractionEvent event : context.getInteractionHistory()) {
+			if (DebugUiPlugin.CONTENT_TYPE.equals(event.getStructureKind()) && event.getStructureHandle() != null) {
+				handles.add(event.getStructureHandle());
+			}
+		}
+		return handles;
+	}
+
+	/**
+	 * Resolves handles against a single snapshot of the breakpoints rather than searching all breakpoints for each
+	 * handle.
+	 */
+	private List<IBreakpoint> resolveBreakpoints(Collection<String> handles) {
 		List<IBreakpoint> breakpoints = new ArrayList<IBreakpoint>();
-		for (InteractionEvent element : context.getInteractionHistory()) {
-			Object object = structureBridge.getObjectForHandle(element.getStructureHandle());
-			if (object != null && object instanceof IBreakpoint) {
-				breakpoints.add((IBreakpoint) object);
+		if (handles == null || handles.isEmpty()) {
+			return breakpoints;
+		}
+		Map<String, IBreakpoint> breakpointByHandle = new HashMap<String, IBreakpoint>();
+		for (IBreakpoint breakpoint : DebugPlugin.getDefault().getBreakpointManager().getBreakpoints()) {
+			String handle = breakpoint.getMarker().getAttribute(BreakpointsStructureBridge.ATTRIBUTE_ID,
+					BreakpointsStructureBridge.ATTRIBUTE_ID_DEFAULT);
+			if (!breakpointByHandle.containsKey(handle)) {
+				breakpointByHandle.put(handle, breakpoint);
+			}
+		}
+		for (String handle : handles) {
+			IBreakpoint breakpoint = breakpointByHandle.get(handle);
+			if (breakpoint != null) {
+				breakpoints.add(breakpoint);
 			}
 		}
 		return breakpoints;
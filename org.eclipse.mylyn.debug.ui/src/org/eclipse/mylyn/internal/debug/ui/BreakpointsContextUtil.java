@@ -37,6 +37,15 @@ import org.eclipse.mylyn.context.core.IInteractionContext;
 public class BreakpointsContextUtil {
 
 	public static InputStream exportBreakpoints(Collection<IBreakpoint> breakpoints, IProgressMonitor progressMonitor) {
+		byte[] data = exportBreakpointData(breakpoints, progressMonitor);
+		return (data != null) ? new ByteArrayInputStream(data) : null;
+	}
+
+	/**
+	 * Returns the exported breakpoints encoded as UTF-8 or null, if <code>breakpoints</code> is empty or the export
+	 * failed.
+	 */
+	public static byte[] exportBreakpointData(Collection<IBreakpoint> breakpoints, IProgressMonitor progressMonitor) {
 		if (breakpoints.size() == 0) {
 			return null;
 		}
@@ -45,7 +54,7 @@ public class BreakpointsContextUtil {
 				breakpoints.toArray(new IBreakpoint[0]));
 		try {
 			exportBreakpointOperation.run(progressMonitor);
-			return new ByteArrayInputStream(exportBreakpointOperation.getBuffer().toString().getBytes("UTF-8")); //$NON-NLS-1$
+			return exportBreakpointOperation.getBuffer().toString().getBytes("UTF-8"); //$NON-NLS-1$
 		} catch (Exception e) {
 			StatusHandler.log(new Status(IStatus.WARNING, DebugUiPlugin.ID_PLUGIN,
 					"Could not export context breakpoints", e));//$NON-NLS-1$
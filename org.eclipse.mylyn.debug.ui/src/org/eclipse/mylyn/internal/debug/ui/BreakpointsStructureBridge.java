@@ -30,7 +30,7 @@ import org.eclipse.osgi.util.NLS;
  */
 public class BreakpointsStructureBridge extends AbstractContextStructureBridge {
 
-	private static final String ATTRIBUTE_ID_DEFAULT = "breakpoint[unknown]"; //$NON-NLS-1$
+	static final String ATTRIBUTE_ID_DEFAULT = "breakpoint[unknown]"; //$NON-NLS-1$
 
 	static final String ATTRIBUTE_ID = "org.eclipse.mylyn.debug.ui.breakpointId"; //$NON-NLS-1$
 
@@ -21,6 +21,7 @@ import org.eclipse.mylyn.java.tests.search.JavaImplementorsSearchPluginTest;
 import org.eclipse.mylyn.java.tests.search.JavaReadAccessSearchPluginTest;
 import org.eclipse.mylyn.java.tests.search.JavaReferencesSearchTest;
 import org.eclipse.mylyn.java.tests.search.JavaWriteAccessSearchPluginTest;
+import org.eclipse.mylyn.java.tests.search.RelationProviderBatchTest;
 import org.eclipse.mylyn.java.tests.tasks.JavaTaskTemplateVariableResolverTest;
 import org.eclipse.mylyn.java.tests.xml.XmlSearchPluginTest;
 
@@ -38,6 +39,7 @@ public class AllJavaTests {
 		suite.addTestSuite(ResourceStructureMappingTest.class);
 		suite.addTestSuite(InterestManipulationTest.class);
 		suite.addTestSuite(RefactoringTest.class);
+		suite.addTestSuite(InterestUpdateDeltaListenerTest.class);
 		suite.addTestSuite(ContentOutlineRefreshTest.class);
 		suite.addTestSuite(TypeHistoryManagerTest.class);
 		suite.addTestSuite(PackageExplorerRefreshTest.class);
@@ -47,13 +49,17 @@ public class AllJavaTests {
 		suite.addTestSuite(InterestFilterTest.class);
 		suite.addTestSuite(InteractionContextManagerTest.class);
 		suite.addTestSuite(JavaStructureTest.class);
+		suite.addTestSuite(JavaElementHandleCacheTest.class);
 		suite.addTestSuite(JavaImplementorsSearchPluginTest.class);
 		suite.addTestSuite(JavaReadAccessSearchPluginTest.class);
 		suite.addTestSuite(JavaReferencesSearchTest.class);
 		suite.addTestSuite(JavaWriteAccessSearchPluginTest.class);
 		suite.addTestSuite(JUnitReferencesSearchPluginTest.class);
+		suite.addTestSuite(RelationProviderBatchTest.class);
 		suite.addTestSuite(XmlSearchPluginTest.class);
 		suite.addTestSuite(JavaEditingMonitorTest.class);
+		suite.addTestSuite(CompletionInterestIndexTest.class);
+		suite.addTestSuite(JavaInterestSummaryTest.class);
 		suite.addTestSuite(JavaStackTraceContextComputationStrategyTest.class);
 		suite.addTestSuite(JavaTaskTemplateVariableResolverTest.class);
 		suite.addTestSuite(JavaEditorManagerTest.class);
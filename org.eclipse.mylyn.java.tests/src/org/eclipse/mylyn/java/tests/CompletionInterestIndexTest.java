@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.java.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.sdk.java.AbstractJavaContextTest;
+import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
+import org.eclipse.mylyn.internal.java.ui.editor.CompletionInterestIndex;
+import org.eclipse.mylyn.internal.java.ui.search.JavaReferencesProvider;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+public class CompletionInterestIndexTest extends AbstractJavaContextTest {
+
+	private CompletionInterestIndex index;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		index = CompletionInterestIndex.getDefault();
+	}
+
+	private CompletionProposal createTypeProposal(String signature) {
+		CompletionProposal proposal = CompletionProposal.create(CompletionProposal.TYPE_REF, 0);
+		proposal.setSignature(signature.toCharArray());
+		return proposal;
+	}
+
+	private CompletionProposal createFieldProposal(String declarationSignature, String name) {
+		CompletionProposal proposal = CompletionProposal.create(CompletionProposal.FIELD_REF, 0);
+		proposal.setDeclarationSignature(declarationSignature.toCharArray());
+		proposal.setName(name.toCharArray());
+		proposal.setSignature("I".toCharArray());
+		return proposal;
+	}
+
+	private CompletionProposal createMethodProposal(String declarationSignature, String name, String signature) {
+		CompletionProposal proposal = CompletionProposal.create(CompletionProposal.METHOD_REF, 0);
+		proposal.setDeclarationSignature(declarationSignature.toCharArray());
+		proposal.setName(name.toCharArray());
+		proposal.setSignature(signature.toCharArray());
+		return proposal;
+	}
+
+	public void testKeys() throws Exception {
+		IType type = p1.getCompilationUnit("Keys.java").getType("Keys");
+		IField field = type.getField("count");
+		IMethod method = type.getMethod("put", new String[] { "QString;", "[I", "QList<QString;>;" });
+
+		assertEquals(CompletionInterestIndex.getKey(type),
+				CompletionInterestIndex.getKey(createTypeProposal("Lp1.Keys;")));
+		assertEquals(CompletionInterestIndex.getKey(field),
+				CompletionInterestIndex.getKey(createFieldProposal("Lp1.Keys;", "count")));
+		assertEquals(CompletionInterestIndex.getKey(method), CompletionInterestIndex.getKey(createMethodProposal(
+				"Lp1.Keys;", "put", "(Ljava.lang.String;[ILjava.util.List<Ljava.lang.String;>;)V")));
+		assertFalse(CompletionInterestIndex.getKey(method).equals(
+				CompletionInterestIndex.getKey(createMethodProposal("Lp1.Keys;", "put", "(Ljava.lang.String;)V"))));
+		assertNull(CompletionInterestIndex.getKey(CompletionProposal.create(CompletionProposal.KEYWORD, 0)));
+	}
+
+	public void testGenericMemberKeys() throws Exception {
+		IType type = p1.getCompilationUnit("Box.java").getType("Box");
+		IMethod put = type.getMethod("put", new String[] { "QT;" });
+		IMethod add = type.getMethod("add", new String[] { "QE;" });
+
+		// proposals on the raw type or within the type itself are not substituted
+		CompletionProposal proposal = createMethodProposal("Lp1.Box;", "put", "(TT;)V");
+		assertEquals(CompletionInterestIndex.getKey(put), CompletionInterestIndex.getKey(proposal));
+		assertFalse(CompletionInterestIndex.isGeneric(proposal));
+
+		// proposals on a parameterized receiver require resolving the element
+		proposal = createMethodProposal("Lp1.Box<Ljava.lang.String;>;", "put", "(Ljava.lang.String;)V");
+		assertFalse(CompletionInterestIndex.getKey(put).equals(CompletionInterestIndex.getKey(proposal)));
+		assertTrue(CompletionInterestIndex.isGeneric(proposal));
+
+		proposal = createMethodProposal("Lp1.Box;", "add", "<E:Ljava.lang.Object;>(TE;)V");
+		assertEquals(CompletionInterestIndex.getKey(add), CompletionInterestIndex.getKey(proposal));
+		assertTrue(CompletionInterestIndex.isGeneric(proposal));
+
+		assertFalse(CompletionInterestIndex.isGeneric(createMethodProposal("Lp1.Keys;", "put",
+				"(Ljava.lang.String;)V")));
+		assertFalse(CompletionInterestIndex.isGeneric(createTypeProposal("Lp1.Box<Ljava.lang.String;>;")));
+	}
+
+	public void testInterestingElementsIndexed() throws Exception {
+		IMethod method = type1.createMethod("public void indexed(String s) { }", null, true, null);
+		String key = CompletionInterestIndex.getKey(createMethodProposal("Lp1.Type1;", "indexed",
+				"(Ljava.lang.String;)V"));
+		assertTrue(index.getHandles(key).isEmpty());
+
+		manager.processInteractionEvent(mockSelection(method.getHandleIdentifier()));
+		assertEquals(Collections.singleton(method.getHandleIdentifier()), index.getHandles(key));
+	}
+
+	public void testPredictedElementsIndexed() throws Exception {
+		IMethod method = type1.createMethod("public void predicted(String s) { }", null, true, null);
+		String key = CompletionInterestIndex.getKey(method);
+		manager.processInteractionEvent(mockSelection(type1.getHandleIdentifier()));
+		IInteractionElement node = manager.getElement(type1.getHandleIdentifier());
+		assertTrue(index.getHandles(key).isEmpty());
+
+		// simulate the completion of an active search, predictions do not notify listeners
+		manager.processInteractionEvent(new InteractionEvent(InteractionEvent.Kind.PREDICTION,
+				JavaStructureBridge.CONTENT_TYPE, method.getHandleIdentifier(), "test", "test", null, 1), false, false);
+		new JavaReferencesProvider().createEdge(node, JavaStructureBridge.CONTENT_TYPE, method.getHandleIdentifier());
+		manager.notifyRelationshipsChanged(node);
+
+		assertEquals(Collections.singleton(method.getHandleIdentifier()), index.getHandles(key));
+		assertTrue(index.getInterest(key) > 0);
+	}
+
+	public void testElementsWithSameKey() throws Exception {
+		IMethod method1 = type1.createMethod("public void same(java.util.List l) { }", null, true, null);
+		IMethod method2 = type1.createMethod("public void same(java.awt.List l) { }", null, true, null);
+		String key = CompletionInterestIndex.getKey(method1);
+		assertEquals(key, CompletionInterestIndex.getKey(method2));
+
+		manager.processInteractionEvent(mockSelection(method1.getHandleIdentifier()));
+		manager.processInteractionEvent(mockSelection(method2.getHandleIdentifier()));
+		manager.processInteractionEvent(mockSelection(method2.getHandleIdentifier()));
+		assertEquals(2, index.getHandles(key).size());
+		assertEquals(manager.getElement(method2.getHandleIdentifier()).getInterest().getValue(),
+				index.getInterest(key));
+	}
+
+	public void testElementsRemoved() throws Exception {
+		IMethod method1 = type1.createMethod("public void removed(int i) { }", null, true, null);
+		IMethod method2 = type1.createMethod("public void removed(String s) { }", null, true, null);
+		String key1 = CompletionInterestIndex.getKey(method1);
+		String key2 = CompletionInterestIndex.getKey(method2);
+		manager.processInteractionEvent(mockSelection(method1.getHandleIdentifier()));
+		manager.processInteractionEvent(mockSelection(method2.getHandleIdentifier()));
+		assertEquals(1, index.getHandles(key1).size());
+		assertEquals(1, index.getHandles(key2).size());
+
+		manager.processInteractionEvent(mockInterestContribution(method1.getHandleIdentifier(), -10));
+		assertTrue(index.getHandles(key1).isEmpty());
+		assertEquals(0f, index.getInterest(key1));
+
+		manager.deleteElement(manager.getElement(method2.getHandleIdentifier()));
+		assertTrue(index.getHandles(key2).isEmpty());
+	}
+
+	public void testLookupThroughput() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			IMethod method = type1.getMethod("m" + i, new String[] { "I" });
+			manager.processInteractionEvent(mockSelection(method.getHandleIdentifier()));
+		}
+		List<CompletionProposal> proposals = new ArrayList<CompletionProposal>();
+		for (int i = 0; i < 5000; i++) {
+			proposals.add(createMethodProposal("Lp1.Type1;", "m" + i, "(I)V"));
+		}
+
+		long start = System.currentTimeMillis();
+		int hits = 0;
+		for (CompletionProposal proposal : proposals) {
+			if (!index.getHandles(CompletionInterestIndex.getKey(proposal)).isEmpty()) {
+				hits++;
+			}
+		}
+		long time = System.currentTimeMillis() - start;
+
+		assertEquals(100, hits);
+		assertTrue("scoring proposals took " + time + " ms", time < 1000);
+	}
+
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.java.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.mylyn.context.core.AbstractContextListener;
+import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.sdk.java.AbstractJavaContextTest;
+import org.eclipse.mylyn.internal.context.core.ContextCorePlugin;
+import org.eclipse.mylyn.internal.java.ui.InterestUpdateDeltaListener;
+
+public class InterestUpdateDeltaListenerTest extends AbstractJavaContextTest {
+
+	private static final int ELEMENT_COUNT = 2000;
+
+	private static class StubDelta implements IJavaElementDelta {
+
+		private final IJavaElement element;
+
+		private final int kind;
+
+		private final IJavaElementDelta[] children;
+
+		public StubDelta(IJavaElement element, int kind, IJavaElementDelta... children) {
+			this.element = element;
+			this.kind = kind;
+			this.children = children;
+		}
+
+		public IJavaElementDelta[] getAddedChildren() {
+			return new IJavaElementDelta[0];
+		}
+
+		public IJavaElementDelta[] getAffectedChildren() {
+			return children;
+		}
+
+		public IJavaElementDelta[] getAnnotationDeltas() {
+			return new IJavaElementDelta[0];
+		}
+
+		public CompilationUnit getCompilationUnitAST() {
+			return null;
+		}
+
+		public IJavaElementDelta[] getChangedChildren() {
+			return new IJavaElementDelta[0];
+		}
+
+		public IJavaElement getElement() {
+			return element;
+		}
+
+		public int getFlags() {
+			return 0;
+		}
+
+		public int getKind() {
+			return kind;
+		}
+
+		public IJavaElement getMovedFromElement() {
+			return null;
+		}
+
+		public IJavaElement getMovedToElement() {
+			return null;
+		}
+
+		public IJavaElementDelta[] getRemovedChildren() {
+			return new IJavaElementDelta[0];
+		}
+
+		public IResourceDelta[] getResourceDeltas() {
+			return null;
+		}
+
+	}
+
+	private class CountingListener extends AbstractContextListener {
+
+		private int interestChangedCount;
+
+		@Override
+		public void contextChanged(ContextChangeEvent event) {
+			if (event.getEventKind() == ContextChangeEvent.ContextChangeKind.INTEREST_CHANGED) {
+				interestChangedCount++;
+			}
+		}
+
+	}
+
+	private CountingListener countingListener;
+
+	private boolean asyncExecMode;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		asyncExecMode = InterestUpdateDeltaListener.isAsyncExecMode();
+		InterestUpdateDeltaListener.setAsyncExecMode(true);
+		countingListener = new CountingListener();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ContextCorePlugin.getContextManager().removeListener(countingListener);
+		InterestUpdateDeltaListener.setAsyncExecMode(asyncExecMode);
+		super.tearDown();
+	}
+
+	public void testMassRename() {
+		List<IType> oldTypes = new ArrayList<IType>();
+		List<IType> newTypes = new ArrayList<IType>();
+		List<IJavaElementDelta> unitDeltas = new ArrayList<IJavaElementDelta>();
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			IType oldType = p1.getCompilationUnit("Type" + i + ".java").getType("Type" + i);
+			IType newType = p1.getCompilationUnit("Type" + i + ".java").getType("Renamed" + i);
+			oldTypes.add(oldType);
+			newTypes.add(newType);
+			manager.processInteractionEvent(mockSelection(oldType.getHandleIdentifier()));
+			unitDeltas.add(new StubDelta(oldType.getCompilationUnit(), IJavaElementDelta.CHANGED, new StubDelta(
+					oldType, IJavaElementDelta.REMOVED), new StubDelta(newType, IJavaElementDelta.ADDED)));
+		}
+		IJavaElementDelta root = new StubDelta(project.getJavaProject(), IJavaElementDelta.CHANGED,
+				unitDeltas.toArray(new IJavaElementDelta[0]));
+
+		ContextCorePlugin.getContextManager().addListener(countingListener);
+		InterestUpdateDeltaListener listener = new InterestUpdateDeltaListener();
+		long start = System.currentTimeMillis();
+		listener.elementChanged(new ElementChangedEvent(root, ElementChangedEvent.POST_CHANGE));
+		long queued = System.currentTimeMillis() - start;
+		listener.flush();
+		long applied = System.currentTimeMillis() - start;
+
+		assertTrue("queuing delta took " + queued + " ms", queued < 1000);
+		assertTrue("applying delta took " + applied + " ms", applied < 5000);
+		assertEquals(1, countingListener.interestChangedCount);
+		for (int i = 0; i < ELEMENT_COUNT; i++) {
+			IInteractionElement element = manager.getElement(newTypes.get(i).getHandleIdentifier());
+			assertTrue(element.getInterest().isInteresting());
+			assertFalse(manager.getElement(oldTypes.get(i).getHandleIdentifier()).getInterest().isInteresting());
+		}
+	}
+
+	public void testRenameAndDeleteCoalesced() {
+		IType oldType = p1.getCompilationUnit("Type.java").getType("Type");
+		IType newType = p1.getCompilationUnit("Type.java").getType("Renamed");
+		manager.processInteractionEvent(mockSelection(oldType.getHandleIdentifier()));
+
+		InterestUpdateDeltaListener listener = new InterestUpdateDeltaListener();
+		listener.elementChanged(new ElementChangedEvent(new StubDelta(project.getJavaProject(),
+				IJavaElementDelta.CHANGED, new StubDelta(oldType, IJavaElementDelta.REMOVED), new StubDelta(newType,
+						IJavaElementDelta.ADDED)), ElementChangedEvent.POST_CHANGE));
+		listener.elementChanged(new ElementChangedEvent(new StubDelta(project.getJavaProject(),
+				IJavaElementDelta.CHANGED, new StubDelta(newType, IJavaElementDelta.REMOVED)),
+				ElementChangedEvent.POST_CHANGE));
+		assertTrue(manager.getElement(oldType.getHandleIdentifier()).getInterest().isInteresting());
+
+		listener.flush();
+		assertFalse(manager.getElement(oldType.getHandleIdentifier()).getInterest().isInteresting());
+		assertFalse(manager.getElement(newType.getHandleIdentifier()).getInterest().isInteresting());
+	}
+
+}
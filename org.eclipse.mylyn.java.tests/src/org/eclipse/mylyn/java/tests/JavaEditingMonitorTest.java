@@ -30,7 +30,9 @@ import org.eclipse.mylyn.monitor.core.IInteractionEventListener;
 import org.eclipse.mylyn.monitor.core.InteractionEvent;
 import org.eclipse.mylyn.monitor.core.InteractionEvent.Kind;
 import org.eclipse.mylyn.monitor.ui.MonitorUi;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
 
 /**
  * @author Jingwen Ou
@@ -231,4 +233,36 @@ public class JavaEditingMonitorTest extends AbstractJavaContextTest {
 		assertEquals(3, selectingCount);
 	}
 
+	public void testResolveInBackground() throws Exception {
+		CompilationUnitEditor editorPart = (CompilationUnitEditor) JavaUI.openInEditor(caller);
+		Document document = new Document(typeFoo.getCompilationUnit().getSource());
+		TextSelection calleeSelection = new TextSelection(document, typeFoo.getCompilationUnit()
+				.getSource()
+				.indexOf("callee()"), "callee".length());
+
+		monitor.setResolveInBackground(true);
+		monitor.resetLastSelectedElement();
+		editingCount = 0;
+		selectingCount = 0;
+
+		monitor.handleWorkbenchPartSelection(editorPart, calleeSelection, false);
+		// resolution is deferred
+		assertEquals(0, selectingCount);
+
+		Display display = PlatformUI.getWorkbench().getDisplay();
+		long end = System.currentTimeMillis() + 10000;
+		while (selectingCount == 0 && System.currentTimeMillis() < end) {
+			while (display.readAndDispatch()) {
+			}
+			Thread.sleep(10);
+		}
+		assertEquals(0, editingCount);
+		assertEquals(1, selectingCount);
+
+		// the same selection in an unmodified document is resolved from the cache
+		monitor.handleWorkbenchPartSelection(editorPart, calleeSelection, false);
+		assertEquals(1, editingCount);
+		assertEquals(1, selectingCount);
+	}
+
 }
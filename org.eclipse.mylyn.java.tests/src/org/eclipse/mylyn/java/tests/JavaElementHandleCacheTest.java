@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.java.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.mylyn.context.sdk.java.AbstractJavaContextTest;
+import org.eclipse.mylyn.internal.java.ui.JavaElementHandleCache;
+import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
+
+public class JavaElementHandleCacheTest extends AbstractJavaContextTest {
+
+	private JavaStructureBridge bridge;
+
+	private JavaElementHandleCache cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		bridge = new JavaStructureBridge();
+		cache = JavaElementHandleCache.getDefault();
+		cache.clear();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		cache.setEnabled(true);
+		cache.clear();
+		super.tearDown();
+	}
+
+	public void testGetObjectForHandle() throws Exception {
+		IMethod method = type1.createMethod("public void m() { }", null, true, null);
+		String handle = method.getHandleIdentifier();
+
+		Object element = bridge.getObjectForHandle(handle);
+		assertEquals(method, element);
+		assertSame(element, bridge.getObjectForHandle(handle));
+		assertEquals(type1.getHandleIdentifier(), bridge.getParentHandle(handle));
+	}
+
+	public void testRenameInvalidatesCache() throws Exception {
+		IType type = project.createType(p1, "Rename.java", "public class Rename { public void m() { } }");
+		String typeHandle = type.getHandleIdentifier();
+		String methodHandle = type.getMethod("m", new String[0]).getHandleIdentifier();
+		Object cachedType = bridge.getObjectForHandle(typeHandle);
+		Object cachedMethod = bridge.getObjectForHandle(methodHandle);
+		assertEquals(typeHandle, bridge.getParentHandle(methodHandle));
+
+		type.getCompilationUnit().rename("Renamed.java", true, null);
+
+		Object type2 = bridge.getObjectForHandle(typeHandle);
+		assertNotSame(cachedType, type2);
+		assertFalse(((IJavaElement) type2).exists());
+		assertNotSame(cachedMethod, bridge.getObjectForHandle(methodHandle));
+	}
+
+	public void testRepeatedResolution() throws Exception {
+		List<String> handles = new ArrayList<String>();
+		for (int i = 0; i < 50; i++) {
+			IMethod method = type1.createMethod("public void m" + i + "() { }", null, true, null);
+			handles.add(method.getHandleIdentifier());
+		}
+
+		cache.setEnabled(false);
+		List<Object> uncached = resolve(handles);
+		assertEquals(0, cache.size());
+		for (int i = 0; i < handles.size(); i++) {
+			assertNotSame(uncached.get(i), bridge.getObjectForHandle(handles.get(i)));
+		}
+
+		cache.setEnabled(true);
+		List<Object> cached = resolve(handles);
+		assertEquals(handles.size(), cache.size());
+		for (int i = 0; i < handles.size(); i++) {
+			assertEquals(uncached.get(i), cached.get(i));
+			assertSame(cached.get(i), bridge.getObjectForHandle(handles.get(i)));
+		}
+		assertEquals(handles.size(), cache.size());
+	}
+
+	private List<Object> resolve(List<String> handles) {
+		List<Object> elements = new ArrayList<Object>();
+		for (String handle : handles) {
+			Object element = bridge.getObjectForHandle(handle);
+			assertNotNull(element);
+			assertNotNull(bridge.getParentHandle(handle));
+			elements.add(element);
+		}
+		return elements;
+	}
+
+}
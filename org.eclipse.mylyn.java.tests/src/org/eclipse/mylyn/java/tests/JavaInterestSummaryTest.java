@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.java.tests;
+
+import java.util.Collections;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.sdk.java.AbstractJavaContextTest;
+import org.eclipse.mylyn.internal.java.ui.JavaInterestSummary;
+import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
+import org.eclipse.mylyn.internal.java.ui.search.JavaReferencesProvider;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+public class JavaInterestSummaryTest extends AbstractJavaContextTest {
+
+	private JavaInterestSummary summary;
+
+	private ICompilationUnit unit;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		summary = JavaInterestSummary.getDefault();
+		unit = type1.getCompilationUnit();
+	}
+
+	public void testInterestingElements() throws Exception {
+		IMethod method = type1.createMethod("public void interesting() { }", null, true, null);
+		assertTrue(summary.getInterestingElements(unit).isEmpty());
+
+		manager.processInteractionEvent(mockSelection(method.getHandleIdentifier()));
+		assertTrue(summary.getHandles(unit.getHandleIdentifier()).contains(method.getHandleIdentifier()));
+		assertEquals(Collections.singletonList(method), summary.getInterestingElements(unit));
+	}
+
+	public void testDecayedElementsNotInteresting() throws Exception {
+		IMethod method = type1.createMethod("public void decayed() { }", null, true, null);
+		manager.processInteractionEvent(mockSelection(method.getHandleIdentifier()));
+		assertEquals(Collections.singletonList(method), summary.getInterestingElements(unit));
+
+		// decay does not notify listeners
+		for (int i = 0; i < 1 / (scaling.getDecay()) * 3; i++) {
+			manager.processInteractionEvent(mockSelection());
+		}
+		assertFalse(manager.getElement(method.getHandleIdentifier()).getInterest().isInteresting());
+		assertTrue(summary.getHandles(unit.getHandleIdentifier()).contains(method.getHandleIdentifier()));
+		assertTrue(summary.getInterestingElements(unit).isEmpty());
+	}
+
+	public void testPredictedElements() throws Exception {
+		IMethod method = type1.createMethod("public void predicted() { }", null, true, null);
+		manager.processInteractionEvent(mockSelection(type1.getHandleIdentifier()));
+		IInteractionElement node = manager.getElement(type1.getHandleIdentifier());
+		assertFalse(summary.getHandles(unit.getHandleIdentifier()).contains(method.getHandleIdentifier()));
+
+		// simulate the completion of an active search, predictions do not notify listeners
+		manager.processInteractionEvent(new InteractionEvent(InteractionEvent.Kind.PREDICTION,
+				JavaStructureBridge.CONTENT_TYPE, method.getHandleIdentifier(), "test", "test", null, 1), false, false);
+		new JavaReferencesProvider().createEdge(node, JavaStructureBridge.CONTENT_TYPE, method.getHandleIdentifier());
+		manager.notifyRelationshipsChanged(node);
+
+		assertTrue(manager.getElement(method.getHandleIdentifier()).getInterest().isPredicted());
+		assertTrue(summary.getHandles(unit.getHandleIdentifier()).contains(method.getHandleIdentifier()));
+		assertTrue(summary.getInterestingElements(unit).contains(method));
+	}
+
+	public void testDeletedElementsRemoved() throws Exception {
+		IMethod method = type1.createMethod("public void deleted() { }", null, true, null);
+		manager.processInteractionEvent(mockSelection(method.getHandleIdentifier()));
+		IInteractionElement element = manager.getElement(method.getHandleIdentifier());
+
+		manager.deleteElement(element);
+		assertFalse(summary.getHandles(unit.getHandleIdentifier()).contains(method.getHandleIdentifier()));
+		assertTrue(summary.getInterestingElements(unit).isEmpty());
+	}
+
+	public void testMissingElementsSkipped() throws Exception {
+		IMethod method = type1.createMethod("public void missing() { }", null, true, null);
+		manager.processInteractionEvent(mockSelection(method.getHandleIdentifier()));
+		IMethod missing = type1.getMethod("notCreated", new String[0]);
+		manager.processInteractionEvent(mockSelection(missing.getHandleIdentifier()));
+
+		assertTrue(summary.getHandles(unit.getHandleIdentifier()).contains(missing.getHandleIdentifier()));
+		assertEquals(Collections.singletonList(method), summary.getInterestingElements(unit));
+	}
+
+}
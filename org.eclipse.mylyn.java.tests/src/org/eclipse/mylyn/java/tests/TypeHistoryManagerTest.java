@@ -11,13 +11,20 @@
 
 package org.eclipse.mylyn.java.tests;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
 import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.ContextChangeEvent.ContextChangeKind;
 import org.eclipse.mylyn.context.sdk.java.AbstractJavaContextTest;
+import org.eclipse.mylyn.internal.context.core.InteractionContext;
 import org.eclipse.mylyn.internal.java.ui.TypeHistoryManager;
 
 /**
@@ -54,4 +61,88 @@ public class TypeHistoryManagerTest extends AbstractJavaContextTest {
 		monitor.selectionChanged(PackageExplorerPart.openInActivePerspective(), sm2);
 		assertEquals(2, OpenTypeHistory.getInstance().getTypeInfos().length);
 	}
+
+	public void testContextSwitchReplaysDifference() throws Exception {
+		IType type2 = project.createType(p1, "Type2.java", "public class Type2 { }");
+		IType type3 = project.createType(p1, "Type3.java", "public class Type3 { }");
+		InteractionContext contextA = new InteractionContext("a", scaling);
+		contextA.parseEvent(mockSelection(type1.getHandleIdentifier()));
+		contextA.parseEvent(mockSelection(type2.getHandleIdentifier()));
+		InteractionContext contextB = new InteractionContext("b", scaling);
+		contextB.parseEvent(mockSelection(type2.getHandleIdentifier()));
+		contextB.parseEvent(mockSelection(type3.getHandleIdentifier()));
+		manager.clearTypeHistory();
+
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "a", contextA, null));
+		assertHistory(type1, type2);
+
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "a", contextA, null));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "b", contextB, null));
+		assertHistory(type2, type3);
+
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "b", contextB, null));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "a", contextA, null));
+		assertHistory(type1, type2);
+
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "a", contextA, null));
+		long end = System.currentTimeMillis() + 10000;
+		while (OpenTypeHistory.getInstance().getTypeInfos().length > 0) {
+			assertTrue("type history was not cleared", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	public void testReactivationDropsDeletedTypes() throws Exception {
+		IType type2 = project.createType(p1, "Type2.java", "public class Type2 { }");
+		InteractionContext contextA = new InteractionContext("a", scaling);
+		contextA.parseEvent(mockSelection(type1.getHandleIdentifier()));
+		contextA.parseEvent(mockSelection(type2.getHandleIdentifier()));
+		InteractionContext contextB = new InteractionContext("b", scaling);
+		manager.clearTypeHistory();
+
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "a", contextA, null));
+		assertHistory(type1, type2);
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "a", contextA, null));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "b", contextB, null));
+		assertHistory();
+
+		// deleted while the context is inactive
+		type2.getCompilationUnit().delete(true, null);
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "b", contextB, null));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "a", contextA, null));
+		assertHistory(type1);
+	}
+
+	public void testReactivationAddsTypesOfModifiedContext() throws Exception {
+		IType type2 = project.createType(p1, "Type2.java", "public class Type2 { }");
+		InteractionContext contextA = new InteractionContext("a", scaling);
+		contextA.parseEvent(mockSelection(type1.getHandleIdentifier()));
+		InteractionContext contextB = new InteractionContext("b", scaling);
+		manager.clearTypeHistory();
+
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "a", contextA, null));
+		assertHistory(type1);
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "a", contextA, null));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "b", contextB, null));
+
+		// simulates a context that is merged or imported while inactive
+		InteractionContext modifiedContextA = new InteractionContext("a", scaling);
+		modifiedContextA.parseEvent(mockSelection(type1.getHandleIdentifier()));
+		modifiedContextA.parseEvent(mockSelection(type2.getHandleIdentifier()));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.DEACTIVATED, "b", contextB, null));
+		manager.contextChanged(new ContextChangeEvent(ContextChangeKind.ACTIVATED, "a", modifiedContextA, null));
+		assertHistory(type1, type2);
+	}
+
+	private void assertHistory(IType... types) {
+		Set<String> expected = new HashSet<String>();
+		for (IType type : types) {
+			expected.add(type.getHandleIdentifier());
+		}
+		Set<String> actual = new HashSet<String>();
+		for (TypeNameMatch typeInfo : OpenTypeHistory.getInstance().getTypeInfos()) {
+			actual.add(typeInfo.getType().getHandleIdentifier());
+		}
+		assertEquals(expected, actual);
+	}
 }
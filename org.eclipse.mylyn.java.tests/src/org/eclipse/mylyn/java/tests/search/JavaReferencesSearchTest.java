@@ -18,9 +18,11 @@ import junit.framework.TestCase;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.mylyn.commons.sdk.util.UiTestUtil;
 import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionElement;
@@ -31,6 +33,7 @@ import org.eclipse.mylyn.internal.context.core.CompositeInteractionContext;
 import org.eclipse.mylyn.internal.context.core.IActiveSearchOperation;
 import org.eclipse.mylyn.internal.context.core.InteractionContext;
 import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
+import org.eclipse.mylyn.internal.java.ui.search.AbstractJavaRelationProvider;
 import org.eclipse.mylyn.internal.java.ui.search.JavaReferencesProvider;
 import org.eclipse.mylyn.internal.pde.ui.PdeStructureBridge;
 
@@ -281,6 +284,43 @@ public class JavaReferencesSearchTest extends TestCase implements ISearchPluginT
 		helper.searchResultsNotNull(notifier, searchNode, dos, 0, true);
 	}
 
+	public void testSearchScopeReused() throws Exception {
+		CompositeInteractionContext t = (CompositeInteractionContext) ContextCore.getContextManager()
+				.getActiveContext();
+		ActiveSearchNotifier notifier = new ActiveSearchNotifier(t, SOURCE_ID);
+		notifier.mockRaiseInterest(type11.getHandleIdentifier(), JavaStructureBridge.CONTENT_TYPE);
+
+		IJavaSearchScope scope = AbstractJavaRelationProvider.createJavaSearchScope(2);
+		assertNotNull(scope);
+		int count = AbstractJavaRelationProvider.getScopeComputationCount();
+		assertSame(scope, AbstractJavaRelationProvider.createJavaSearchScope(2));
+		assertEquals(count, AbstractJavaRelationProvider.getScopeComputationCount());
+
+		notifier.mockRaiseInterest(type2.getHandleIdentifier(), JavaStructureBridge.CONTENT_TYPE);
+		assertNotSame(scope, AbstractJavaRelationProvider.createJavaSearchScope(2));
+		assertEquals(count + 1, AbstractJavaRelationProvider.getScopeComputationCount());
+	}
+
+	public void testSearchScopeInvalidatedByJavaModelChange() throws Exception {
+		CompositeInteractionContext t = (CompositeInteractionContext) ContextCore.getContextManager()
+				.getActiveContext();
+		ActiveSearchNotifier notifier = new ActiveSearchNotifier(t, SOURCE_ID);
+		notifier.mockRaiseInterest(type11.getHandleIdentifier(), JavaStructureBridge.CONTENT_TYPE);
+
+		IJavaSearchScope scope = AbstractJavaRelationProvider.createJavaSearchScope(2);
+		assertSame(scope, AbstractJavaRelationProvider.createJavaSearchScope(2));
+		int count = AbstractJavaRelationProvider.getScopeComputationCount();
+
+		ICompilationUnit unit = type11.getPackageFragment().createCompilationUnit("ScopeTest.java",
+				"public class ScopeTest { }", true, null);
+		try {
+			assertNotSame(scope, AbstractJavaRelationProvider.createJavaSearchScope(2));
+			assertEquals(count + 1, AbstractJavaRelationProvider.getScopeComputationCount());
+		} finally {
+			unit.delete(true, null);
+		}
+	}
+
 	public List<?> search(int dos, IInteractionElement node) {
 		if (node == null) {
 			return null;
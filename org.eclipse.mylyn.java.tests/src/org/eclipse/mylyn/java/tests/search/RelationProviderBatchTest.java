@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.java.tests.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.mylyn.context.core.AbstractContextListener;
+import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.sdk.java.AbstractJavaContextTest;
+import org.eclipse.mylyn.internal.context.core.AbstractRelationProvider;
+import org.eclipse.mylyn.internal.context.core.IActiveSearchOperation;
+import org.eclipse.mylyn.internal.context.core.IDegreeOfSeparation;
+import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+
+public class RelationProviderBatchTest extends AbstractJavaContextTest {
+
+	private static final int RESULT_COUNT = 20;
+
+	private static class StubRelationProvider extends AbstractRelationProvider {
+
+		public StubRelationProvider() {
+			super(JavaStructureBridge.CONTENT_TYPE, "org.eclipse.mylyn.java.tests.search.stub");
+		}
+
+		public void addResults(IInteractionElement node, Collection<String> handles) {
+			incrementInterest(node, JavaStructureBridge.CONTENT_TYPE, handles, 1);
+		}
+
+		@Override
+		public List<IDegreeOfSeparation> getDegreesOfSeparation() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		protected int getDefaultDegreeOfSeparation() {
+			return 0;
+		}
+
+		@Override
+		protected void findRelated(IInteractionElement node, int degreeOfSeparation) {
+		}
+
+		@Override
+		public IActiveSearchOperation getSearchOperation(IInteractionElement node, int limitTo, int degreeOfSeparation) {
+			return null;
+		}
+
+		@Override
+		public String getName() {
+			return "stub";
+		}
+
+		@Override
+		protected String getSourceId() {
+			return "stub";
+		}
+
+		@Override
+		public String getGenericId() {
+			return "stub";
+		}
+
+		@Override
+		public void stopAllRunningJobs() {
+		}
+
+	}
+
+	private class InterestChangedListener extends AbstractContextListener {
+
+		private final List<List<IInteractionElement>> deltas = new ArrayList<List<IInteractionElement>>();
+
+		@Override
+		public void contextChanged(ContextChangeEvent event) {
+			switch (event.getEventKind()) {
+			case INTEREST_CHANGED:
+				deltas.add(event.getElements());
+				break;
+			}
+		}
+
+	}
+
+	private InterestChangedListener listener;
+
+	private List<String> handles;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		handles = new ArrayList<String>();
+		for (int i = 0; i < RESULT_COUNT; i++) {
+			IMethod method = type1.createMethod("public void result" + i + "() { }", null, true, null);
+			handles.add(method.getHandleIdentifier());
+		}
+		listener = new InterestChangedListener();
+		manager.addListener(listener);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		manager.removeListener(listener);
+		super.tearDown();
+	}
+
+	public void testProcessInteractionEventsNotifiesOnce() {
+		List<InteractionEvent> events = new ArrayList<InteractionEvent>();
+		for (String handle : handles) {
+			events.add(new InteractionEvent(InteractionEvent.Kind.PREDICTION, JavaStructureBridge.CONTENT_TYPE,
+					handle, "test", "test", null, 1));
+		}
+		manager.processInteractionEvents(events, false, true);
+
+		assertEquals(1, listener.deltas.size());
+		for (String handle : handles) {
+			assertTrue(listener.deltas.get(0).contains(manager.getElement(handle)));
+		}
+	}
+
+	public void testIncrementInterestBatch() {
+		manager.processInteractionEvent(mockSelection(type1.getHandleIdentifier()));
+		IInteractionElement node = manager.getElement(type1.getHandleIdentifier());
+		listener.deltas.clear();
+
+		List<String> results = new ArrayList<String>(handles);
+		results.addAll(handles);
+		StubRelationProvider provider = new StubRelationProvider();
+		provider.addResults(node, results);
+
+		// predictions from active search do not notify listeners
+		assertEquals(0, listener.deltas.size());
+		for (String handle : handles) {
+			IInteractionElement element = context.get(handle);
+			assertNotNull(element);
+			assertTrue(element.getInterest().isPredicted());
+		}
+		assertEquals(RESULT_COUNT, context.get(type1.getHandleIdentifier()).getRelations().size());
+	}
+
+}
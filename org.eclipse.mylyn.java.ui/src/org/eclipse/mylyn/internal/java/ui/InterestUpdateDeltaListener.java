@@ -11,29 +11,77 @@
 
 package org.eclipse.mylyn.internal.java.ui;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.mylyn.commons.core.StatusHandler;
-import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.internal.context.core.ContextCorePlugin;
+import org.eclipse.mylyn.internal.context.core.InteractionContextManager;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.PlatformUI;
 
 /**
+ * Updates handles of renamed and removes deleted elements from the active context. Changes are accumulated over a short
+ * period and applied in a single batch.
+ *
  * @author Mik Kersten
  */
 public class InterestUpdateDeltaListener implements IElementChangedListener {
 
+	private static final long COALESCE_DELAY = 100;
+
 	private static boolean asyncExecMode = true;
 
+	/** Maps the original handle of renamed elements to the most recent handle. */
+	private final Map<String, String> pendingRenames = new LinkedHashMap<String, String>();
+
+	/** Maps the most recent handle of renamed elements to the original handle. */
+	private final Map<String, String> originalHandles = new HashMap<String, String>();
+
+	private final Set<String> pendingDeletions = new LinkedHashSet<String>();
+
+	private final Job flushJob = new Job("Update Java Element Handles") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IWorkbench workbench = PlatformUI.getWorkbench();
+			if (workbench != null && !workbench.getDisplay().isDisposed()) {
+				workbench.getDisplay().asyncExec(new Runnable() {
+					public void run() {
+						flush();
+					}
+				});
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public InterestUpdateDeltaListener() {
+		flushJob.setSystem(true);
+	}
+
 	public void elementChanged(ElementChangedEvent event) {
 		IJavaElementDelta delta = event.getDelta();
 		handleDelta(delta.getAffectedChildren());
+		if (!asyncExecMode) {
+			flush();
+		} else if (hasPendingChanges()) {
+			flushJob.schedule(COALESCE_DELAY);
+		}
 	}
 
 	/**
@@ -64,50 +112,72 @@ public class InterestUpdateDeltaListener implements IElementChangedListener {
 			}
 
 			if (added != null && removed != null) {
-				IInteractionElement element = ContextCore.getContextManager().getElement(removed.getHandleIdentifier());
-				if (element != null) {
-					resetHandle(element, added.getHandleIdentifier());
-				}
+				resetHandle(removed.getHandleIdentifier(), added.getHandleIdentifier());
 			} else if (removed != null) {
-
-				IInteractionElement element = ContextCore.getContextManager().getElement(removed.getHandleIdentifier());
-				if (element != null) {
-					delete(element);
-				}
+				delete(removed.getHandleIdentifier());
 			}
 		} catch (Throwable t) {
 			StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN, "Delta update failed", t)); //$NON-NLS-1$
 		}
 	}
 
-	private void resetHandle(final IInteractionElement element, final String newHandle) {
-		if (!asyncExecMode) {
-			ContextCore.getContextManager().updateHandle(element, newHandle);
-		} else {
-			IWorkbench workbench = PlatformUI.getWorkbench();
-			if (workbench != null) {
-				workbench.getDisplay().asyncExec(new Runnable() {
-					public void run() {
-						ContextCore.getContextManager().updateHandle(element, newHandle);
-					}
-				});
-			}
+	private synchronized void resetHandle(String oldHandle, String newHandle) {
+		String originalHandle = originalHandles.remove(oldHandle);
+		if (originalHandle == null) {
+			originalHandle = oldHandle;
 		}
+		pendingRenames.put(originalHandle, newHandle);
+		originalHandles.put(newHandle, originalHandle);
 	}
 
-	private void delete(final IInteractionElement element) {
-		if (!asyncExecMode) {
-			ContextCore.getContextManager().deleteElement(element);
+	private synchronized void delete(String handle) {
+		String originalHandle = originalHandles.remove(handle);
+		if (originalHandle != null) {
+			pendingRenames.remove(originalHandle);
+			pendingDeletions.add(originalHandle);
 		} else {
-			IWorkbench workbench = PlatformUI.getWorkbench();
-			if (workbench != null) {
-				workbench.getDisplay().asyncExec(new Runnable() {
-					public void run() {
-						ContextCore.getContextManager().deleteElement(element);
-					}
-				});
+			pendingDeletions.add(handle);
+		}
+	}
+
+	private synchronized boolean hasPendingChanges() {
+		return !pendingRenames.isEmpty() || !pendingDeletions.isEmpty();
+	}
+
+	/**
+	 * Applies all accumulated changes to the active context. Public for testing.
+	 */
+	public void flush() {
+		Map<String, String> renames;
+		Set<String> deletions;
+		synchronized (this) {
+			if (pendingRenames.isEmpty() && pendingDeletions.isEmpty()) {
+				return;
 			}
+			renames = new LinkedHashMap<String, String>(pendingRenames);
+			deletions = new LinkedHashSet<String>(pendingDeletions);
+			pendingRenames.clear();
+			originalHandles.clear();
+			pendingDeletions.clear();
 		}
+
+		InteractionContextManager manager = ContextCorePlugin.getContextManager();
+		Map<IInteractionElement, String> newHandleByElement = new LinkedHashMap<IInteractionElement, String>();
+		for (Map.Entry<String, String> entry : renames.entrySet()) {
+			IInteractionElement element = manager.getElement(entry.getKey());
+			if (element != null) {
+				newHandleByElement.put(element, entry.getValue());
+			}
+		}
+		List<IInteractionElement> deletedElements = new ArrayList<IInteractionElement>();
+		for (String handle : deletions) {
+			IInteractionElement element = manager.getElement(handle);
+			if (element != null) {
+				deletedElements.add(element);
+			}
+		}
+		manager.updateHandles(newHandleByElement);
+		manager.deleteElements(deletedElements);
 	}
 
 	/**
@@ -116,4 +186,11 @@ public class InterestUpdateDeltaListener implements IElementChangedListener {
 	public static void setAsyncExecMode(boolean asyncExecMode) {
 		InterestUpdateDeltaListener.asyncExecMode = asyncExecMode;
 	}
+
+	/**
+	 * For testing
+	 */
+	public static boolean isAsyncExecMode() {
+		return asyncExecMode;
+	}
 }
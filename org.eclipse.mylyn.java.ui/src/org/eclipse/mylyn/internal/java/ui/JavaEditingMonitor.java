@@ -12,9 +12,13 @@
 package org.eclipse.mylyn.internal.java.ui;
 
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IImportContainer;
 import org.eclipse.jdt.core.IImportDeclaration;
 import org.eclipse.jdt.core.IJavaElement;
@@ -24,6 +28,8 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.StructuredSelection;
@@ -32,12 +38,18 @@ import org.eclipse.mylyn.internal.java.ui.search.JavaImplementorsProvider;
 import org.eclipse.mylyn.internal.java.ui.search.JavaReferencesProvider;
 import org.eclipse.mylyn.monitor.ui.AbstractUserInteractionMonitor;
 import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.texteditor.IDocumentProvider;
 
 /**
  * @author Mik Kersten
  */
 public class JavaEditingMonitor extends AbstractUserInteractionMonitor {
 
+	private static final long RESOLVE_DELAY = 150;
+
+	private static final int MAX_RESOLVED_SELECTIONS = 50;
+
 	protected IJavaElement lastSelectedElement = null;
 
 	protected IJavaElement lastResolvedElement = null;
@@ -46,6 +58,20 @@ public class JavaEditingMonitor extends AbstractUserInteractionMonitor {
 
 	protected StructuredSelection currentSelection = null;
 
+	private final Map<String, ResolvedSelection> resolvedSelections = new LinkedHashMap<String, ResolvedSelection>(16,
+			0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ResolvedSelection> eldest) {
+			return size() > MAX_RESOLVED_SELECTIONS;
+		}
+	};
+
+	private boolean resolveInBackground;
+
+	private ResolveSelectionJob resolveJob;
+
 	public JavaEditingMonitor() {
 		super();
 	}
@@ -84,61 +110,18 @@ public class JavaEditingMonitor extends AbstractUserInteractionMonitor {
 				if (selection instanceof TextSelection && part instanceof JavaEditor) {
 					currentEditor = (JavaEditor) part;
 					TextSelection textSelection = (TextSelection) selection;
+					if (resolveInBackground) {
+						scheduleResolve(currentEditor, textSelection, contributeToContext);
+						return;
+					}
 					selectedElement = SelectionConverter.resolveEnclosingElement(currentEditor, textSelection);
 					if (selectedElement instanceof IPackageDeclaration) {
 						// HACK: ignoring these selections
 						return;
 					}
 					IJavaElement[] resolved = SelectionConverter.codeResolve(currentEditor);
-					if (resolved != null && resolved.length == 1 && !resolved[0].equals(selectedElement)) {
-						lastResolvedElement = resolved[0];
-					}
-
-					boolean selectionResolved = false;
-					if (selectedElement instanceof IMethod && lastSelectedElement instanceof IMethod) {
-						// navigation between two elements
-						if (lastResolvedElement != null && lastSelectedElement != null
-								&& lastResolvedElement.equals(selectedElement)
-								&& !lastSelectedElement.equals(lastResolvedElement)) {
-							super.handleNavigation(part, selectedElement, JavaReferencesProvider.ID,
-									contributeToContext);
-							selectionResolved = true;
-						} else if (lastSelectedElement != null && lastSelectedElement.equals(lastResolvedElement)
-								&& !lastSelectedElement.equals(selectedElement)) {
-							super.handleNavigation(part, selectedElement, JavaReferencesProvider.ID,
-									contributeToContext);
-							selectionResolved = true;
-						}
-					} else if (selectedElement != null && lastSelectedElement != null
-							&& !lastSelectedElement.equals(selectedElement)) {
-						if (lastSelectedElement.getElementName().equals(selectedElement.getElementName())) {
-							// navigation between two elements
-							if (selectedElement instanceof IMethod && lastSelectedElement instanceof IMethod) {
-								super.handleNavigation(part, selectedElement, JavaImplementorsProvider.ID,
-										contributeToContext);
-								selectionResolved = true;
-							} else if (selectedElement instanceof IType && lastSelectedElement instanceof IType) {
-								super.handleNavigation(part, selectedElement, JavaImplementorsProvider.ID,
-										contributeToContext);
-								selectionResolved = true;
-							}
-						}
-					}
-					if (selectedElement != null) {
-						// selection of an element
-						if (!selectionResolved && selectedElement.equals(lastSelectedElement)) {
-							super.handleElementEdit(part, selectedElement, contributeToContext);
-						} else if (!selectedElement.equals(lastSelectedElement)) {
-							super.handleElementSelection(part, selectedElement, contributeToContext);
-						}
-					}
-
-					IJavaElement checkedElement = checkIfAcceptedAndPromoteIfNecessary(selectedElement);
-					if (checkedElement == null) {
-						return;
-					} else {
-						selectedElement = checkedElement;
-					}
+					handleTextSelection(part, selectedElement, resolved, contributeToContext);
+					return;
 				}
 			}
 			if (selectedElement != null) {
@@ -152,6 +135,118 @@ public class JavaEditingMonitor extends AbstractUserInteractionMonitor {
 		}
 	}
 
+	private void handleTextSelection(IWorkbenchPart part, IJavaElement selectedElement, IJavaElement[] resolved,
+			boolean contributeToContext) {
+		if (selectedElement instanceof IPackageDeclaration) {
+			// HACK: ignoring these selections
+			return;
+		}
+		if (resolved != null && resolved.length == 1 && !resolved[0].equals(selectedElement)) {
+			lastResolvedElement = resolved[0];
+		}
+
+		boolean selectionResolved = false;
+		if (selectedElement instanceof IMethod && lastSelectedElement instanceof IMethod) {
+			// navigation between two elements
+			if (lastResolvedElement != null && lastSelectedElement != null
+					&& lastResolvedElement.equals(selectedElement) && !lastSelectedElement.equals(lastResolvedElement)) {
+				super.handleNavigation(part, selectedElement, JavaReferencesProvider.ID, contributeToContext);
+				selectionResolved = true;
+			} else if (lastSelectedElement != null && lastSelectedElement.equals(lastResolvedElement)
+					&& !lastSelectedElement.equals(selectedElement)) {
+				super.handleNavigation(part, selectedElement, JavaReferencesProvider.ID, contributeToContext);
+				selectionResolved = true;
+			}
+		} else if (selectedElement != null && lastSelectedElement != null
+				&& !lastSelectedElement.equals(selectedElement)) {
+			if (lastSelectedElement.getElementName().equals(selectedElement.getElementName())) {
+				// navigation between two elements
+				if (selectedElement instanceof IMethod && lastSelectedElement instanceof IMethod) {
+					super.handleNavigation(part, selectedElement, JavaImplementorsProvider.ID, contributeToContext);
+					selectionResolved = true;
+				} else if (selectedElement instanceof IType && lastSelectedElement instanceof IType) {
+					super.handleNavigation(part, selectedElement, JavaImplementorsProvider.ID, contributeToContext);
+					selectionResolved = true;
+				}
+			}
+		}
+		if (selectedElement != null) {
+			// selection of an element
+			if (!selectionResolved && selectedElement.equals(lastSelectedElement)) {
+				super.handleElementEdit(part, selectedElement, contributeToContext);
+			} else if (!selectedElement.equals(lastSelectedElement)) {
+				super.handleElementSelection(part, selectedElement, contributeToContext);
+			}
+		}
+
+		IJavaElement checkedElement = checkIfAcceptedAndPromoteIfNecessary(selectedElement);
+		if (checkedElement != null) {
+			lastSelectedElement = checkedElement;
+		}
+	}
+
+	/**
+	 * Resolves the selection after a short delay in a background job and processes the result in the UI thread unless
+	 * a newer selection was made or the document was modified in the meantime.
+	 */
+	private void scheduleResolve(JavaEditor editor, TextSelection selection, boolean contributeToContext) {
+		IJavaElement input = SelectionConverter.getInput(editor);
+		if (input == null) {
+			return;
+		}
+		long stamp = getModificationStamp(editor);
+		String key = input.getHandleIdentifier() + ":" + selection.getOffset() + ":" + selection.getLength() + ":" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ stamp;
+		if (resolveJob != null) {
+			resolveJob.cancel();
+			resolveJob = null;
+		}
+		ResolvedSelection cached;
+		synchronized (resolvedSelections) {
+			cached = resolvedSelections.get(key);
+		}
+		if (cached != null) {
+			handleTextSelection(editor, cached.enclosingElement, cached.resolvedElements, contributeToContext);
+			return;
+		}
+		resolveJob = new ResolveSelectionJob(editor, input, selection, stamp, key, contributeToContext);
+		resolveJob.schedule(RESOLVE_DELAY);
+	}
+
+	private static long getModificationStamp(JavaEditor editor) {
+		IDocumentProvider provider = editor.getDocumentProvider();
+		if (provider != null) {
+			IDocument document = provider.getDocument(editor.getEditorInput());
+			if (document instanceof IDocumentExtension4) {
+				return ((IDocumentExtension4) document).getModificationStamp();
+			}
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * If enabled, text selections are resolved to Java elements in a background job rather than in the UI thread.
+	 */
+	public void setResolveInBackground(boolean resolveInBackground) {
+		this.resolveInBackground = resolveInBackground;
+	}
+
+	public boolean isResolveInBackground() {
+		return resolveInBackground;
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		if (resolveJob != null) {
+			resolveJob.cancel();
+			resolveJob = null;
+		}
+		synchronized (resolvedSelections) {
+			resolvedSelections.clear();
+		}
+	}
+
 	/**
 	 * @return null for elements that aren't modeled
 	 */
@@ -173,4 +268,84 @@ public class JavaEditingMonitor extends AbstractUserInteractionMonitor {
 		lastSelectedElement = null;
 	}
 
+	private static class ResolvedSelection {
+
+		private final IJavaElement enclosingElement;
+
+		private final IJavaElement[] resolvedElements;
+
+		public ResolvedSelection(IJavaElement enclosingElement, IJavaElement[] resolvedElements) {
+			this.enclosingElement = enclosingElement;
+			this.resolvedElements = resolvedElements;
+		}
+
+	}
+
+	private class ResolveSelectionJob extends Job {
+
+		private final JavaEditor editor;
+
+		private final IJavaElement input;
+
+		private final TextSelection selection;
+
+		private final long stamp;
+
+		private final String key;
+
+		private final boolean contributeToContext;
+
+		public ResolveSelectionJob(JavaEditor editor, IJavaElement input, TextSelection selection, long stamp,
+				String key, boolean contributeToContext) {
+			super(Messages.JavaEditingMonitor_Resolving_Selection);
+			this.editor = editor;
+			this.input = input;
+			this.selection = selection;
+			this.stamp = stamp;
+			this.key = key;
+			this.contributeToContext = contributeToContext;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final ResolvedSelection result;
+			try {
+				IJavaElement enclosingElement = SelectionConverter.resolveEnclosingElement(input, selection);
+				IJavaElement[] resolvedElements = null;
+				if (!(enclosingElement instanceof IPackageDeclaration) && !monitor.isCanceled()) {
+					resolvedElements = SelectionConverter.codeResolve(input, selection);
+				}
+				result = new ResolvedSelection(enclosingElement, resolvedElements);
+			} catch (JavaModelException e) {
+				// ignore, fine to fail to resolve an element if the model is not up-to-date
+				return Status.OK_STATUS;
+			}
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			synchronized (resolvedSelections) {
+				resolvedSelections.put(key, result);
+			}
+			PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+				public void run() {
+					if (resolveJob != ResolveSelectionJob.this || getModificationStamp(editor) != stamp) {
+						// superseded by a newer selection or the document has changed
+						return;
+					}
+					resolveJob = null;
+					try {
+						handleTextSelection(editor, result.enclosingElement, result.resolvedElements,
+								contributeToContext);
+					} catch (Throwable t) {
+						StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
+								"Failed to update model based on selection", t)); //$NON-NLS-1$
+					}
+				}
+			});
+			return Status.OK_STATUS;
+		}
+
+	}
+
 }
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.java.ui;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * A bounded cache that maps handle identifiers to Java elements and their parent handles. Entries are evicted in least
+ * recently used order and invalidated when elements are removed, moved or when a classpath changes.
+ */
+public class JavaElementHandleCache implements IElementChangedListener {
+
+	private static final int DEFAULT_MAX_SIZE = 2000;
+
+	private static final int CLASSPATH_CHANGE_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+			| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
+
+	private static final int MOVE_FLAGS = IJavaElementDelta.F_MOVED_FROM | IJavaElementDelta.F_MOVED_TO;
+
+	private static JavaElementHandleCache instance;
+
+	private final Map<String, IJavaElement> elementByHandle;
+
+	private final Map<String, String> parentByHandle;
+
+	private volatile boolean enabled = true;
+
+	public static synchronized JavaElementHandleCache getDefault() {
+		if (instance == null) {
+			instance = new JavaElementHandleCache(DEFAULT_MAX_SIZE);
+			JavaCore.addElementChangedListener(instance, ElementChangedEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	static synchronized void disposeDefault() {
+		if (instance != null) {
+			JavaCore.removeElementChangedListener(instance);
+			instance.clear();
+			instance = null;
+		}
+	}
+
+	public JavaElementHandleCache(final int maxSize) {
+		this.elementByHandle = new LinkedHashMap<String, IJavaElement>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, IJavaElement> eldest) {
+				return size() > maxSize;
+			}
+		};
+		this.parentByHandle = new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public IJavaElement getElement(String handle) {
+		if (!enabled) {
+			return JavaCore.create(handle);
+		}
+		synchronized (this) {
+			IJavaElement element = elementByHandle.get(handle);
+			if (element != null) {
+				return element;
+			}
+		}
+		// create outside of the lock since this may access the Java model
+		IJavaElement element = JavaCore.create(handle);
+		if (element != null) {
+			synchronized (this) {
+				elementByHandle.put(handle, element);
+			}
+		}
+		return element;
+	}
+
+	public String getParentHandle(String handle) {
+		if (enabled) {
+			synchronized (this) {
+				String parentHandle = parentByHandle.get(handle);
+				if (parentHandle != null) {
+					return parentHandle;
+				}
+			}
+		}
+		IJavaElement element = getElement(handle);
+		if (element != null && element.getParent() != null) {
+			String parentHandle = element.getParent().getHandleIdentifier();
+			if (enabled && parentHandle != null) {
+				synchronized (this) {
+					parentByHandle.put(handle, parentHandle);
+				}
+			}
+			return parentHandle;
+		}
+		return null;
+	}
+
+	public synchronized void clear() {
+		elementByHandle.clear();
+		parentByHandle.clear();
+	}
+
+	public synchronized int size() {
+		return elementByHandle.size();
+	}
+
+	public void elementChanged(ElementChangedEvent event) {
+		processDelta(event.getDelta());
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		if ((delta.getFlags() & CLASSPATH_CHANGE_FLAGS) != 0) {
+			// resolution of all handles in the affected project may change
+			clear();
+			return;
+		}
+		if (delta.getKind() == IJavaElementDelta.REMOVED || (delta.getFlags() & MOVE_FLAGS) != 0) {
+			invalidate(delta.getElement());
+			// all children are covered by the prefix match
+			return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private synchronized void invalidate(IJavaElement element) {
+		String prefix = element.getHandleIdentifier();
+		if (prefix == null) {
+			return;
+		}
+		for (Iterator<String> it = elementByHandle.keySet().iterator(); it.hasNext();) {
+			if (it.next().startsWith(prefix)) {
+				it.remove();
+			}
+		}
+		for (Iterator<Map.Entry<String, String>> it = parentByHandle.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, String> entry = it.next();
+			if (entry.getKey().startsWith(prefix) || entry.getValue().startsWith(prefix)) {
+				it.remove();
+			}
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * For testing.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			clear();
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.java.ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.mylyn.context.core.AbstractContextListener;
+import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.ContextCore;
+import org.eclipse.mylyn.context.core.IInteractionContext;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.core.IInteractionRelation;
+import org.eclipse.mylyn.internal.context.core.IRelationsListener;
+
+/**
+ * Tracks the Java elements of the active context per compilation unit. The index is built lazily from the active
+ * context and maintained incrementally as elements are added, predicted by active search and deleted. Interest is not
+ * indexed since it decays without change events, it is looked up when the elements of a compilation unit are
+ * requested.
+ */
+public class JavaInterestSummary extends AbstractContextListener implements IRelationsListener {
+
+	private static JavaInterestSummary instance;
+
+	/** Maps compilation unit handles to the handles of context elements they contain. */
+	private Map<String, Set<String>> handlesByUnit;
+
+	public static synchronized JavaInterestSummary getDefault() {
+		if (instance == null) {
+			instance = new JavaInterestSummary();
+			ContextCore.getContextManager().addListener(instance);
+		}
+		return instance;
+	}
+
+	static synchronized void disposeDefault() {
+		if (instance != null) {
+			ContextCore.getContextManager().removeListener(instance);
+			instance = null;
+		}
+	}
+
+	/**
+	 * Returns the handles of the elements of the active context that are contained in the compilation unit with
+	 * <code>unitHandle</code>, regardless of their current interest.
+	 */
+	public synchronized Set<String> getHandles(String unitHandle) {
+		if (handlesByUnit == null) {
+			build();
+		}
+		Set<String> handles = handlesByUnit.get(unitHandle);
+		return (handles != null) ? new HashSet<String>(handles) : new HashSet<String>();
+	}
+
+	/**
+	 * Returns the existing elements of <code>unit</code> that are currently interesting in the active context.
+	 */
+	public List<IJavaElement> getInterestingElements(ICompilationUnit unit) {
+		List<IJavaElement> elements = new ArrayList<IJavaElement>();
+		for (String handle : getHandles(unit.getHandleIdentifier())) {
+			IInteractionElement element = ContextCore.getContextManager().getElement(handle);
+			if (element != null && element.getInterest().isInteresting()) {
+				IJavaElement javaElement = JavaCore.create(handle);
+				if (javaElement != null && javaElement.exists()) {
+					elements.add(javaElement);
+				}
+			}
+		}
+		return elements;
+	}
+
+	@Override
+	public void contextChanged(ContextChangeEvent event) {
+		switch (event.getEventKind()) {
+		case ACTIVATED:
+		case DEACTIVATED:
+		case CLEARED:
+			invalidate();
+			break;
+		case INTEREST_CHANGED:
+		case LANDMARKS_ADDED:
+		case LANDMARKS_REMOVED:
+			update(event.getElements(), false);
+			break;
+		case ELEMENTS_DELETED:
+			update(event.getElements(), true);
+			break;
+		}
+	}
+
+	/**
+	 * Predicted elements that active search relates to <code>element</code> do not cause context change events and are
+	 * added when the search completes.
+	 */
+	public synchronized void relationsChanged(IInteractionElement element) {
+		if (handlesByUnit == null || element == null) {
+			return;
+		}
+		for (IInteractionRelation relation : element.getRelations()) {
+			update(relation.getTarget(), false);
+		}
+	}
+
+	private synchronized void invalidate() {
+		handlesByUnit = null;
+	}
+
+	private synchronized void update(List<IInteractionElement> elements, boolean deleted) {
+		if (handlesByUnit == null) {
+			// will be built on next access
+			return;
+		}
+		for (IInteractionElement element : elements) {
+			update(element, deleted);
+		}
+	}
+
+	private void build() {
+		handlesByUnit = new HashMap<String, Set<String>>();
+		IInteractionContext context = ContextCore.getContextManager().getActiveContext();
+		if (context != null) {
+			for (IInteractionElement element : context.getAllElements()) {
+				update(element, false);
+			}
+		}
+	}
+
+	private void update(IInteractionElement element, boolean deleted) {
+		if (!JavaStructureBridge.CONTENT_TYPE.equals(element.getContentType())) {
+			return;
+		}
+		String handle = element.getHandleIdentifier();
+		IJavaElement javaElement = JavaElementHandleCache.getDefault().getElement(handle);
+		IJavaElement unit = (javaElement != null) ? javaElement.getAncestor(IJavaElement.COMPILATION_UNIT) : null;
+		if (unit == null || unit.equals(javaElement)) {
+			return;
+		}
+		String unitHandle = unit.getHandleIdentifier();
+		Set<String> handles = handlesByUnit.get(unitHandle);
+		if (!deleted) {
+			if (handles == null) {
+				handles = new HashSet<String>();
+				handlesByUnit.put(unitHandle, handles);
+			}
+			handles.add(handle);
+		} else if (handles != null) {
+			handles.remove(handle);
+			if (handles.isEmpty()) {
+				handlesByUnit.remove(unitHandle);
+			}
+		}
+	}
+
+}
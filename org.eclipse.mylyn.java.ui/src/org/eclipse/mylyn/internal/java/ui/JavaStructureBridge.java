@@ -71,10 +71,11 @@ public class JavaStructureBridge extends AbstractContextStructureBridge {
 
 	@Override
 	public String getParentHandle(String handle) {
-		IJavaElement javaElement = (IJavaElement) getObjectForHandle(handle);
-		if (javaElement != null && javaElement.getParent() != null) {
-			return getHandleIdentifier(javaElement.getParent());
-		} else {
+		try {
+			return JavaElementHandleCache.getDefault().getParentHandle(handle);
+		} catch (Throwable t) {
+			StatusHandler.log(new Status(IStatus.WARNING, JavaUiBridgePlugin.ID_PLUGIN,
+					"Could not create java element for handle: " + handle, t)); //$NON-NLS-1$
 			return null;
 		}
 	}
@@ -123,7 +124,7 @@ public class JavaStructureBridge extends AbstractContextStructureBridge {
 	@Override
 	public Object getObjectForHandle(String handle) {
 		try {
-			return JavaCore.create(handle);
+			return JavaElementHandleCache.getDefault().getElement(handle);
 		} catch (Throwable t) {
 			StatusHandler.log(new Status(IStatus.WARNING, JavaUiBridgePlugin.ID_PLUGIN,
 					"Could not create java element for handle: " + handle, t)); //$NON-NLS-1$
@@ -26,6 +26,8 @@ import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.ui.IContextUiStartup;
 import org.eclipse.mylyn.internal.java.ui.editor.ActiveFoldingListener;
 import org.eclipse.mylyn.internal.java.ui.editor.BreakpointEditorTracker;
+import org.eclipse.mylyn.internal.java.ui.editor.CompletionInterestIndex;
+import org.eclipse.mylyn.internal.java.ui.search.AbstractJavaRelationProvider;
 import org.eclipse.mylyn.monitor.ui.MonitorUi;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
@@ -132,7 +134,11 @@ public class JavaUiBridgePlugin extends AbstractUIPlugin {
 		landmarkMarkerManager = new LandmarkMarkerManager();
 		ContextCore.getContextManager().addListener(landmarkMarkerManager);
 
+		// register before editors are tracked to update the summary ahead of folding listeners
+		JavaInterestSummary.getDefault();
+
 		javaEditingMonitor = new JavaEditingMonitor();
+		javaEditingMonitor.setResolveInBackground(true);
 		MonitorUi.getSelectionMonitors().add(javaEditingMonitor);
 		installEditorTracker(PlatformUI.getWorkbench());
 
@@ -168,12 +174,16 @@ public class JavaUiBridgePlugin extends AbstractUIPlugin {
 		if (breakpointEditorTracker != null) {
 			breakpointEditorTracker.dispose(PlatformUI.getWorkbench());
 		}
+		JavaInterestSummary.disposeDefault();
+		CompletionInterestIndex.disposeDefault();
 		// TODO: uninstall editor tracker
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		lazyStop();
+		JavaElementHandleCache.disposeDefault();
+		AbstractJavaRelationProvider.disposeScopeCache();
 
 		super.stop(context);
 		INSTANCE = null;
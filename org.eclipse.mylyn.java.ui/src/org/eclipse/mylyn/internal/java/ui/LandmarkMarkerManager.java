@@ -11,9 +11,15 @@
 
 package org.eclipse.mylyn.internal.java.ui;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -21,17 +27,17 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.ISourceRange;
-import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.mylyn.commons.core.StatusHandler;
@@ -41,13 +47,20 @@ import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionElement;
 
 /**
+ * Maintains markers for landmarks of the active context. Changes are computed as a difference between the desired and
+ * the existing markers and applied in a single workspace operation.
+ *
  * @author Mik Kersten
  */
 public class LandmarkMarkerManager extends AbstractContextListener {
 
 	private static final String ID_MARKER_LANDMARK = "org.eclipse.mylyn.context.ui.markers.landmark"; //$NON-NLS-1$
 
-	private final Map<IInteractionElement, Long> markerMap = new ConcurrentHashMap<IInteractionElement, Long>();
+	private static final String[] MARKER_ATTRIBUTES = new String[] { IMarker.CHAR_START, IMarker.CHAR_END,
+			IMarker.MESSAGE, IMarker.SEVERITY };
+
+	/** Only accessed from the update job. */
+	private final Map<IInteractionElement, IMarker> markerMap = new HashMap<IInteractionElement, IMarker>();
 
 	private final LandmarkUpdateJob updateJob = new LandmarkUpdateJob(
 			Messages.LandmarkMarkerManager_Updating_Landmark_Markers);
@@ -58,157 +71,156 @@ public class LandmarkMarkerManager extends AbstractContextListener {
 
 	@Override
 	public void contextChanged(ContextChangeEvent event) {
-		LinkedHashSet<LandmarkUpdateOperation> runnables = new LinkedHashSet<LandmarkUpdateOperation>();
 		switch (event.getEventKind()) {
 		case ACTIVATED:
 		case DEACTIVATED:
-			modelUpdated();
+			updateJob.synchronizeAll();
 			break;
 		case CLEARED:
 			if (event.isActiveContext()) {
-				modelUpdated();
+				updateJob.synchronizeAll();
 			}
 			break;
 		case LANDMARKS_ADDED:
-			for (IInteractionElement element : event.getElements()) {
-				LandmarkUpdateOperation runnable = createAddLandmarkMarkerOperation(element);
-				if (runnable != null) {
-					runnables.add(runnable);
-				}
-			}
+			updateJob.update(event.getElements(), true);
 			break;
 		case ELEMENTS_DELETED:
 		case LANDMARKS_REMOVED:
-			for (IInteractionElement element : event.getElements()) {
-				LandmarkUpdateOperation runnable = createRemoveLandmarkMarkerOperation(element);
-				if (runnable != null) {
-					runnables.add(runnable);
-				}
-			}
+			updateJob.update(event.getElements(), false);
 			break;
-
 		}
-		updateJob.updateMarkers(runnables);
 	}
 
-	private void modelUpdated() {
-		try {
-			// remove all known landmark markers
-			LinkedHashSet<LandmarkUpdateOperation> runnables = new LinkedHashSet<LandmarkUpdateOperation>();
-			for (IInteractionElement node : markerMap.keySet()) {
-				LandmarkUpdateOperation runnable = createRemoveLandmarkMarkerOperation(node);
-				if (runnable != null) {
-					runnables.add(runnable);
-				}
-			}
-			markerMap.clear();
-			// add any nodes that are landmarks
-			for (IInteractionElement node : ContextCore.getContextManager().getActiveLandmarks()) {
-				LandmarkUpdateOperation runnable = createAddLandmarkMarkerOperation(node);
-				if (runnable != null) {
-					runnables.add(runnable);
+	/**
+	 * @return the marker that should be shown for <code>node</code> or null, if <code>node</code> is not a Java member
+	 *         in a source file
+	 */
+	private LandmarkMarker createLandmarkMarker(IInteractionElement node) {
+		if (node == null || !JavaStructureBridge.CONTENT_TYPE.equals(node.getContentType())) {
+			return null;
+		}
+		IJavaElement element = JavaCore.create(node.getHandleIdentifier());
+		if (element instanceof IMember && element.exists()) {
+			try {
+				ISourceRange range = ((IMember) element).getNameRange();
+				IResource resource = element.getUnderlyingResource();
+				if (resource instanceof IFile && range != null) {
+					return new LandmarkMarker(node, (IFile) resource, range.getOffset(), range.getOffset()
+							+ range.getLength());
 				}
+			} catch (JavaModelException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN, "Could not update marker", e)); //$NON-NLS-1$
 			}
-			updateJob.updateMarkers(runnables);
-		} catch (Throwable t) {
-			StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
-					"Could not update landmark markers", t)); //$NON-NLS-1$
 		}
+		return null;
 	}
 
-	private LandmarkUpdateOperation createAddLandmarkMarkerOperation(final IInteractionElement node) {
-		if (node == null || node.getContentType() == null) {
-			return null;
+	/**
+	 * Replaces all markers in files that have or should have landmark markers by the markers for the landmarks of the
+	 * active context. Markers that are already present at the right location are retained. Must be invoked in a
+	 * workspace operation.
+	 */
+	private void synchronizeAll(List<LandmarkMarker> desiredMarkers) throws CoreException {
+		Map<IFile, List<LandmarkMarker>> desiredByFile = new LinkedHashMap<IFile, List<LandmarkMarker>>();
+		for (IMarker marker : markerMap.values()) {
+			if (marker.getResource() instanceof IFile) {
+				desiredByFile.put((IFile) marker.getResource(), new ArrayList<LandmarkMarker>());
+			}
 		}
-		if (JavaStructureBridge.CONTENT_TYPE.equals(node.getContentType())) {
-			final IJavaElement element = JavaCore.create(node.getHandleIdentifier());
-			if (!element.exists()) {
-				return null;
+		for (LandmarkMarker desired : desiredMarkers) {
+			List<LandmarkMarker> markers = desiredByFile.get(desired.file);
+			if (markers == null) {
+				markers = new ArrayList<LandmarkMarker>();
+				desiredByFile.put(desired.file, markers);
 			}
-			if (element instanceof IMember) {
-				try {
-					final ISourceRange range = ((IMember) element).getNameRange();
-					IResource resource = element.getUnderlyingResource();
-					if (resource instanceof IFile) {
-						LandmarkUpdateOperation runnable = new LandmarkUpdateOperation(resource) {
-							public void run(IProgressMonitor monitor) throws CoreException {
-								IMarker marker = getResource().createMarker(ID_MARKER_LANDMARK);
-								if (marker != null && range != null) {
-									marker.setAttribute(IMarker.CHAR_START, range.getOffset());
-									marker.setAttribute(IMarker.CHAR_END, range.getOffset() + range.getLength());
-									marker.setAttribute(IMarker.MESSAGE, Messages.LandmarkMarkerManager_Mylyn_Landmark);
-									marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
-									markerMap.put(node, marker.getId());
-								}
-							}
-						};
-						return runnable;
-					}
-				} catch (JavaModelException e) {
-					StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
-							"Could not update marker", e)); //$NON-NLS-1$
+			markers.add(desired);
+		}
+
+		markerMap.clear();
+		for (Map.Entry<IFile, List<LandmarkMarker>> entry : desiredByFile.entrySet()) {
+			IFile file = entry.getKey();
+			if (!file.exists()) {
+				continue;
+			}
+			Map<String, LinkedList<IMarker>> existingByRange = new HashMap<String, LinkedList<IMarker>>();
+			for (IMarker marker : file.findMarkers(ID_MARKER_LANDMARK, false, IResource.DEPTH_ZERO)) {
+				String key = marker.getAttribute(IMarker.CHAR_START, -1) + ":" //$NON-NLS-1$
+						+ marker.getAttribute(IMarker.CHAR_END, -1);
+				LinkedList<IMarker> markers = existingByRange.get(key);
+				if (markers == null) {
+					markers = new LinkedList<IMarker>();
+					existingByRange.put(key, markers);
+				}
+				markers.add(marker);
+			}
+			for (LandmarkMarker desired : entry.getValue()) {
+				LinkedList<IMarker> existing = existingByRange.get(desired.getRangeKey());
+				if (existing != null && !existing.isEmpty()) {
+					markerMap.put(desired.node, existing.removeFirst());
+				} else {
+					markerMap.put(desired.node, desired.create());
+				}
+			}
+			for (LinkedList<IMarker> obsolete : existingByRange.values()) {
+				for (IMarker marker : obsolete) {
+					marker.delete();
 				}
 			}
 		}
-		return null;
 	}
 
-	private LandmarkUpdateOperation createRemoveLandmarkMarkerOperation(final IInteractionElement node) {
-		if (node == null) {
-			return null;
+	/**
+	 * Must be invoked in a workspace operation.
+	 */
+	private void add(LandmarkMarker desired) throws CoreException {
+		IMarker marker = markerMap.get(desired.node);
+		if (marker != null && marker.exists() && desired.file.equals(marker.getResource())
+				&& desired.getRangeKey().equals(marker.getAttribute(IMarker.CHAR_START, -1) + ":" //$NON-NLS-1$
+						+ marker.getAttribute(IMarker.CHAR_END, -1))) {
+			return;
 		}
-		if (JavaStructureBridge.CONTENT_TYPE.equals(node.getContentType())) {
-			IJavaElement element = JavaCore.create(node.getHandleIdentifier());
-			if (!element.exists()) {
-				return null;
-			}
-			if (element.getAncestor(IJavaElement.COMPILATION_UNIT) != null // stuff
-					// from .class files
-					&& element instanceof ISourceReference) {
-				try {
-					IResource resource = element.getUnderlyingResource();
-					LandmarkUpdateOperation runnable = new LandmarkUpdateOperation(resource) {
-						public void run(IProgressMonitor monitor) throws CoreException {
-							if (getResource() != null) {
-								try {
-									if (markerMap.containsKey(node)) {
-										long id = markerMap.get(node);
-										IMarker marker = getResource().getMarker(id);
-										if (marker != null) {
-											marker.delete();
-										}
-									}
-								} catch (NullPointerException e) {
-									// FIXME avoid NPE
-									StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
-											"Could not update marker", e)); //$NON-NLS-1$
-								}
-							}
-						}
-					};
-					return runnable;
-				} catch (JavaModelException e) {
-					// ignore the Java Model errors
-				}
-			}
+		if (marker != null) {
+			marker.delete();
 		}
-		return null;
+		markerMap.put(desired.node, desired.create());
 	}
 
 	/**
-	 * IWorkspaceRunnable that has a reference to the resource that it is operating on
+	 * Must be invoked in a workspace operation.
 	 */
-	private abstract class LandmarkUpdateOperation implements IWorkspaceRunnable {
+	private void remove(IInteractionElement node) throws CoreException {
+		IMarker marker = markerMap.remove(node);
+		if (marker != null) {
+			marker.delete();
+		}
+	}
+
+	private static class LandmarkMarker {
+
+		private final IInteractionElement node;
+
+		private final IFile file;
 
-		private final IResource resource;
+		private final int start;
+
+		private final int end;
+
+		public LandmarkMarker(IInteractionElement node, IFile file, int start, int end) {
+			this.node = node;
+			this.file = file;
+			this.start = start;
+			this.end = end;
+		}
 
-		public LandmarkUpdateOperation(IResource resource) {
-			Assert.isNotNull(resource);
-			this.resource = resource;
+		public String getRangeKey() {
+			return start + ":" + end; //$NON-NLS-1$
 		}
 
-		public IResource getResource() {
-			return resource;
+		public IMarker create() throws CoreException {
+			IMarker marker = file.createMarker(ID_MARKER_LANDMARK);
+			marker.setAttributes(MARKER_ATTRIBUTES, new Object[] { start, end,
+					Messages.LandmarkMarkerManager_Mylyn_Landmark, IMarker.SEVERITY_INFO });
+			return marker;
 		}
 
 	}
@@ -218,56 +230,98 @@ public class LandmarkMarkerManager extends AbstractContextListener {
 	 */
 	private class LandmarkUpdateJob extends Job {
 
-		private static final int NOT_SCHEDULED = -1;
+		private boolean synchronizeAll;
 
-		private final LinkedHashSet<LandmarkUpdateOperation> queue = new LinkedHashSet<LandmarkUpdateOperation>();
+		private final Set<IInteractionElement> added = new LinkedHashSet<IInteractionElement>();
 
-		private long scheduleTime = NOT_SCHEDULED;
+		private final Set<IInteractionElement> removed = new LinkedHashSet<IInteractionElement>();
 
 		public LandmarkUpdateJob(String name) {
 			super(name);
 			setSystem(true);
 		}
 
-		public synchronized void updateMarkers(LinkedHashSet<LandmarkUpdateOperation> operations) {
-			queue.addAll(operations);
-			if (queue.size() > 0) {
-				if (scheduleTime == NOT_SCHEDULED) {
-					scheduleTime = System.currentTimeMillis();
-					schedule();
+		public synchronized void synchronizeAll() {
+			// a full synchronization supersedes all pending incremental updates
+			synchronizeAll = true;
+			added.clear();
+			removed.clear();
+			schedule();
+		}
+
+		public synchronized void update(List<IInteractionElement> elements, boolean landmarksAdded) {
+			if (synchronizeAll || elements.isEmpty()) {
+				return;
+			}
+			for (IInteractionElement element : elements) {
+				if (landmarksAdded) {
+					removed.remove(element);
+					added.add(element);
+				} else {
+					added.remove(element);
+					removed.add(element);
 				}
 			}
+			schedule();
 		}
 
 		@Override
 		public IStatus run(IProgressMonitor monitor) {
-			IWorkspace workspace = ResourcesPlugin.getWorkspace();
+			final IWorkspace workspace = ResourcesPlugin.getWorkspace();
 			if (workspace == null) {
 				return Status.CANCEL_STATUS;
 			}
-			LinkedHashSet<LandmarkUpdateOperation> operations = null;
+			final boolean all;
+			final List<IInteractionElement> addedElements;
+			final List<IInteractionElement> removedElements;
 			synchronized (this) {
-				operations = new LinkedHashSet<LandmarkUpdateOperation>(queue);
-				queue.clear();
-				scheduleTime = NOT_SCHEDULED;
+				all = synchronizeAll;
+				addedElements = new ArrayList<IInteractionElement>(added);
+				removedElements = new ArrayList<IInteractionElement>(removed);
+				synchronizeAll = false;
+				added.clear();
+				removed.clear();
+			}
+
+			// compute markers from the Java model before locking the workspace
+			final List<LandmarkMarker> desiredMarkers = new ArrayList<LandmarkMarker>();
+			Collection<IInteractionElement> nodes = (all) ? ContextCore.getContextManager().getActiveLandmarks()
+					: addedElements;
+			for (IInteractionElement node : nodes) {
+				LandmarkMarker desired = createLandmarkMarker(node);
+				if (desired != null) {
+					desiredMarkers.add(desired);
+				}
+			}
+
+			ISchedulingRule rule = null;
+			for (LandmarkMarker desired : desiredMarkers) {
+				rule = MultiRule.combine(rule, workspace.getRuleFactory().markerRule(desired.file));
+			}
+			for (IMarker marker : markerMap.values()) {
+				rule = MultiRule.combine(rule, workspace.getRuleFactory().markerRule(marker.getResource()));
 			}
-			if (operations != null) {
-				try {
-					monitor.beginTask(Messages.LandmarkMarkerManager_Updating_Landmark_Markers, operations.size());
-					for (LandmarkUpdateOperation runnable : operations) {
-						try {
-							workspace.run(runnable, runnable.getResource(), IWorkspace.AVOID_UPDATE, monitor);
-						} catch (CoreException e) {
-							StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
-									"Could not update landmark marker", e)); //$NON-NLS-1$
-						} catch (OperationCanceledException e) {
-							return Status.CANCEL_STATUS;
+
+			try {
+				workspace.run(new IWorkspaceRunnable() {
+					public void run(IProgressMonitor monitor) throws CoreException {
+						if (all) {
+							synchronizeAll(desiredMarkers);
+						} else {
+							for (IInteractionElement node : removedElements) {
+								remove(node);
+							}
+							for (LandmarkMarker desired : desiredMarkers) {
+								add(desired);
+							}
 						}
-						monitor.worked(1);
 					}
-				} finally {
-					monitor.done();
-				}
+				}, rule, IWorkspace.AVOID_UPDATE, monitor);
+			} catch (CoreException e) {
+				StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
+						"Could not update landmark markers", e)); //$NON-NLS-1$
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
 			}
 			return Status.OK_STATUS;
 		}
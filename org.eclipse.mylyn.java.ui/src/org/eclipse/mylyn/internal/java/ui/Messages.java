@@ -16,6 +16,8 @@ import org.eclipse.osgi.util.NLS;
 public class Messages extends NLS {
 	private static final String BUNDLE_NAME = "org.eclipse.mylyn.internal.java.ui.messages"; //$NON-NLS-1$
 
+	public static String JavaEditingMonitor_Resolving_Selection;
+
 	public static String JavaStackTraceContextComputationStrategy_Finding_Java_Context_Element_Progress_Label;
 
 	public static String LandmarkMarkerManager_Mylyn_Landmark;
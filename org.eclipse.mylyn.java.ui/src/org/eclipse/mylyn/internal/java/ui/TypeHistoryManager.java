@@ -11,8 +11,16 @@
 
 package org.eclipse.mylyn.internal.java.ui;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
@@ -23,6 +31,7 @@ import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.context.core.AbstractContextListener;
 import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.mylyn.context.core.IInteractionElement;
 
 /**
@@ -31,26 +40,68 @@ import org.eclipse.mylyn.context.core.IInteractionElement;
  */
 public class TypeHistoryManager extends AbstractContextListener {
 
+	private static final int MAX_CACHED_CONTEXTS = 10;
+
+	private static final long CLEAR_DELAY = 500;
+
+	/**
+	 * Maps the handles of recently active contexts to the matches of their interesting types, keyed by type handle.
+	 */
+	private final Map<String, Map<String, TypeNameMatch>> matchesByContext = new LinkedHashMap<String, Map<String, TypeNameMatch>>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Map<String, TypeNameMatch>> eldest) {
+			return size() > MAX_CACHED_CONTEXTS;
+		}
+	};
+
+	/** The matches of the active context, or null if no context is active. */
+	private Map<String, TypeNameMatch> activeMatches;
+
+	/**
+	 * Clears the history after a context was deactivated unless another context is activated, which allows task
+	 * switches to only replay the types that differ between contexts.
+	 */
+	private final Job clearJob = new Job("Clear Type History") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			synchronized (TypeHistoryManager.this) {
+				if (activeMatches == null) {
+					clearTypeHistory();
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public TypeHistoryManager() {
+		clearJob.setSystem(true);
+	}
+
 	@Override
-	public void contextChanged(ContextChangeEvent event) {
+	public synchronized void contextChanged(ContextChangeEvent event) {
 		switch (event.getEventKind()) {
 		case ACTIVATED:
-			clearTypeHistory();
-			for (IInteractionElement node : event.getContext().getInteresting()) {
-				updateTypeHistory(node, true);
-			}
+			clearJob.cancel();
+			activate(event.getContextHandle(), event.getContext());
 			break;
 		case DEACTIVATED:
-			clearTypeHistory();
+			activeMatches = null;
+			clearJob.schedule(CLEAR_DELAY);
 			break;
 		case CLEARED:
+			matchesByContext.remove(event.getContextHandle());
 			if (event.isActiveContext()) {
+				activeMatches = new HashMap<String, TypeNameMatch>();
+				matchesByContext.put(event.getContextHandle(), activeMatches);
 				clearTypeHistory();
 			}
 			break;
 		case INTEREST_CHANGED:
 			for (IInteractionElement node : event.getElements()) {
-				updateTypeHistory(node, true);
+				updateTypeHistory(node, node.getInterest().isInteresting());
 			}
 			break;
 		case ELEMENTS_DELETED:
@@ -61,28 +112,86 @@ public class TypeHistoryManager extends AbstractContextListener {
 		}
 	}
 
+	private void activate(String contextHandle, IInteractionContext context) {
+		// the context may have been modified while it was inactive, e.g. merged or imported, and interest may have
+		// decayed, hence only the resolved types are reused and types that no longer exist are dropped
+		Map<String, TypeNameMatch> cachedMatches = matchesByContext.get(contextHandle);
+		Map<String, TypeNameMatch> matches = new HashMap<String, TypeNameMatch>();
+		for (IInteractionElement node : context.getInteresting()) {
+			TypeNameMatch match = (cachedMatches != null) ? cachedMatches.get(node.getHandleIdentifier()) : null;
+			if (match == null) {
+				match = createTypeNameMatch(node);
+			} else if (!match.getType().exists()) {
+				match = null;
+			}
+			if (match != null) {
+				matches.put(node.getHandleIdentifier(), match);
+			}
+		}
+		matchesByContext.put(contextHandle, matches);
+		activeMatches = matches;
+
+		// only replay the difference to the types of the previously active context
+		Set<String> present = new HashSet<String>();
+		for (TypeNameMatch typeInfo : OpenTypeHistory.getInstance().getTypeInfos()) {
+			String handle = typeInfo.getType().getHandleIdentifier();
+			if (matches.containsKey(handle)) {
+				present.add(handle);
+			} else {
+				OpenTypeHistory.getInstance().remove(typeInfo);
+			}
+		}
+		for (Map.Entry<String, TypeNameMatch> entry : matches.entrySet()) {
+			if (!present.contains(entry.getKey())) {
+				OpenTypeHistory.getInstance().accessed(entry.getValue());
+			}
+		}
+	}
+
 	/**
-	 * Path has to be compatible with ITypeNameRequestor
+	 * Adds or removes the type of <code>node</code> when its interest crosses the threshold.
 	 */
 	private void updateTypeHistory(IInteractionElement node, boolean add) {
+		if (activeMatches == null) {
+			return;
+		}
+		String handle = node.getHandleIdentifier();
+		if (add) {
+			if (!activeMatches.containsKey(handle)) {
+				TypeNameMatch match = createTypeNameMatch(node);
+				if (match != null) {
+					activeMatches.put(handle, match);
+					OpenTypeHistory.getInstance().accessed(match);
+				}
+			}
+		} else {
+			TypeNameMatch match = activeMatches.remove(handle);
+			if (match != null) {
+				OpenTypeHistory.getInstance().remove(match);
+			}
+		}
+	}
+
+	/**
+	 * Path has to be compatible with ITypeNameRequestor
+	 */
+	private TypeNameMatch createTypeNameMatch(IInteractionElement node) {
+		if (!JavaStructureBridge.CONTENT_TYPE.equals(node.getContentType())) {
+			return null;
+		}
 		IJavaElement element = JavaCore.create(node.getHandleIdentifier());
 		if (element instanceof IType) {
 			IType type = (IType) element;
 			try {
 				if (type.exists() && !type.isAnonymous() && !isAspectjType(type)) {
-					JavaSearchTypeNameMatch typeNameMatch = new JavaSearchTypeNameMatch(type, type.getFlags());
-
-					if (add && !OpenTypeHistory.getInstance().contains(typeNameMatch)) {
-						OpenTypeHistory.getInstance().accessed(typeNameMatch);
-					} else {
-						OpenTypeHistory.getInstance().remove(typeNameMatch);
-					}
+					return new JavaSearchTypeNameMatch(type, type.getFlags());
 				}
 			} catch (JavaModelException e) {
 				StatusHandler.log(new Status(IStatus.ERROR, JavaUiBridgePlugin.ID_PLUGIN,
 						"Failed to update history for a type", e)); //$NON-NLS-1$
 			}
 		}
+		return null;
 	}
 
 	/**
@@ -100,7 +209,7 @@ public class TypeHistoryManager extends AbstractContextListener {
 	/**
 	 * Public for testing
 	 */
-	public void clearTypeHistory() {
+	public synchronized void clearTypeHistory() {
 		TypeNameMatch[] typeInfos = OpenTypeHistory.getInstance().getTypeInfos();
 		for (TypeNameMatch typeInfo : typeInfos) {
 			OpenTypeHistory.getInstance().remove(typeInfo);
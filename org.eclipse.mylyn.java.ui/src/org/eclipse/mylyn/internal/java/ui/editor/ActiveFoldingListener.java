@@ -32,6 +32,7 @@ import org.eclipse.mylyn.context.core.AbstractContextListener;
 import org.eclipse.mylyn.context.core.ContextChangeEvent;
 import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.internal.java.ui.JavaInterestSummary;
 import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
 import org.eclipse.mylyn.internal.java.ui.JavaUiBridgePlugin;
 
@@ -99,21 +100,12 @@ public class ActiveFoldingListener extends AbstractContextListener {
 		} else {
 			try {
 				List<IJavaElement> toExpand = new ArrayList<IJavaElement>();
-				List<IJavaElement> toCollapse = new ArrayList<IJavaElement>();
 
 				IJavaElement element = JavaUI.getEditorInputJavaElement(editor.getEditorInput());
 				if (element instanceof ICompilationUnit) {
-					ICompilationUnit compilationUnit = (ICompilationUnit) element;
-					List<IJavaElement> allChildren = getAllChildren(compilationUnit);
-					for (IJavaElement child : allChildren) {
-						IInteractionElement interactionElement = ContextCore.getContextManager().getElement(
-								bridge.getHandleIdentifier(child));
-						if (interactionElement != null && interactionElement.getInterest().isInteresting()) {
-							toExpand.add(child);
-						} else {
-							toCollapse.add(child);
-						}
-					}
+					// only elements that are interesting need to be expanded, all others are collapsed
+					toExpand.addAll(JavaInterestSummary.getDefault().getInterestingElements(
+							(ICompilationUnit) element));
 				}
 				if (updater != null) {
 					updater.collapseComments();
@@ -126,21 +118,6 @@ public class ActiveFoldingListener extends AbstractContextListener {
 		}
 	}
 
-	private static List<IJavaElement> getAllChildren(IParent parentElement) {
-		List<IJavaElement> allChildren = new ArrayList<IJavaElement>();
-		try {
-			for (IJavaElement child : parentElement.getChildren()) {
-				allChildren.add(child);
-				if (child instanceof IParent) {
-					allChildren.addAll(getAllChildren((IParent) child));
-				}
-			}
-		} catch (JavaModelException e) {
-			// ignore failures
-		}
-		return allChildren;
-	}
-
 	public void updateFolding(List<IInteractionElement> elements) {
 		for (IInteractionElement element : elements) {
 			if (updater == null || !enabled) {
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.java.ui.editor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.mylyn.context.core.AbstractContextListener;
+import org.eclipse.mylyn.context.core.ContextChangeEvent;
+import org.eclipse.mylyn.context.core.ContextCore;
+import org.eclipse.mylyn.context.core.IInteractionContext;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.core.IInteractionRelation;
+import org.eclipse.mylyn.internal.context.core.IRelationsListener;
+import org.eclipse.mylyn.internal.java.ui.JavaStructureBridge;
+
+/**
+ * Maps signature keys of interesting types, fields and methods in the active context to their handle identifiers. Keys
+ * are computed from element handles and from completion proposals without resolving Java elements, which allows
+ * proposals to be matched against the context while content assist is computing. Since keys do not identify the
+ * project and compare parameter types by simple name, several elements can share a key. Proposals for members of
+ * parameterized types and generic methods may have substituted parameter types that do not match the key of the
+ * element, see {@link #isGeneric(CompletionProposal)}.
+ */
+public class CompletionInterestIndex extends AbstractContextListener implements IRelationsListener {
+
+	private static CompletionInterestIndex instance;
+
+	private Map<String, Set<String>> handlesByKey;
+
+	public static synchronized CompletionInterestIndex getDefault() {
+		if (instance == null) {
+			instance = new CompletionInterestIndex();
+			ContextCore.getContextManager().addListener(instance);
+		}
+		return instance;
+	}
+
+	public static synchronized void disposeDefault() {
+		if (instance != null) {
+			ContextCore.getContextManager().removeListener(instance);
+			instance = null;
+		}
+	}
+
+	/**
+	 * Returns the handles of the elements in the active context that match <code>key</code>.
+	 */
+	public synchronized Set<String> getHandles(String key) {
+		if (handlesByKey == null) {
+			build();
+		}
+		Set<String> handles = handlesByKey.get(key);
+		return (handles != null) ? new HashSet<String>(handles) : new HashSet<String>();
+	}
+
+	/**
+	 * Returns the highest interest of the elements in the active context that match <code>key</code>, or 0 if no
+	 * element matches.
+	 */
+	public float getInterest(String key) {
+		float interest = 0;
+		for (String handle : getHandles(key)) {
+			IInteractionElement element = ContextCore.getContextManager().getElement(handle);
+			if (element != null && element.getInterest().getValue() > interest) {
+				interest = element.getInterest().getValue();
+			}
+		}
+		return interest;
+	}
+
+	@Override
+	public void contextChanged(ContextChangeEvent event) {
+		switch (event.getEventKind()) {
+		case ACTIVATED:
+		case DEACTIVATED:
+		case CLEARED:
+			invalidate();
+			break;
+		case INTEREST_CHANGED:
+		case LANDMARKS_ADDED:
+		case LANDMARKS_REMOVED:
+			update(event.getElements(), false);
+			break;
+		case ELEMENTS_DELETED:
+			update(event.getElements(), true);
+			break;
+		}
+	}
+
+	/**
+	 * Predicted elements that active search relates to <code>element</code> do not cause context change events and are
+	 * added when the search completes.
+	 */
+	public synchronized void relationsChanged(IInteractionElement element) {
+		if (handlesByKey == null || element == null) {
+			return;
+		}
+		for (IInteractionRelation relation : element.getRelations()) {
+			update(relation.getTarget(), false);
+		}
+	}
+
+	private synchronized void invalidate() {
+		handlesByKey = null;
+	}
+
+	private synchronized void update(List<IInteractionElement> elements, boolean deleted) {
+		if (handlesByKey == null) {
+			// will be built on next access
+			return;
+		}
+		for (IInteractionElement element : elements) {
+			update(element, deleted);
+		}
+	}
+
+	private void build() {
+		handlesByKey = new HashMap<String, Set<String>>();
+		IInteractionContext context = ContextCore.getContextManager().getActiveContext();
+		if (context != null) {
+			for (IInteractionElement element : context.getAllElements()) {
+				update(element, false);
+			}
+		}
+	}
+
+	private void update(IInteractionElement element, boolean deleted) {
+		if (!JavaStructureBridge.CONTENT_TYPE.equals(element.getContentType())) {
+			return;
+		}
+		// creating elements from handles does not access the Java model
+		String key = getKey(JavaCore.create(element.getHandleIdentifier()));
+		if (key == null) {
+			return;
+		}
+		Set<String> handles = handlesByKey.get(key);
+		if (!deleted && element.getInterest().isInteresting()) {
+			if (handles == null) {
+				handles = new HashSet<String>();
+				handlesByKey.put(key, handles);
+			}
+			handles.add(element.getHandleIdentifier());
+		} else if (handles != null) {
+			handles.remove(element.getHandleIdentifier());
+			if (handles.isEmpty()) {
+				handlesByKey.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Returns a key for <code>element</code> that is computed from its handle, or null if <code>element</code> is not a
+	 * type, field or method.
+	 */
+	public static String getKey(IJavaElement element) {
+		if (element instanceof IType) {
+			return getTypeKey(((IType) element).getFullyQualifiedName('.'));
+		} else if (element instanceof IField) {
+			IType declaringType = ((IField) element).getDeclaringType();
+			if (declaringType != null) {
+				return getFieldKey(declaringType.getFullyQualifiedName('.'), element.getElementName());
+			}
+		} else if (element instanceof IMethod) {
+			IMethod method = (IMethod) element;
+			IType declaringType = method.getDeclaringType();
+			if (declaringType != null) {
+				return getMethodKey(declaringType.getFullyQualifiedName('.'), method.getElementName(),
+						method.getParameterTypes());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a key for the element that <code>proposal</code> refers to, or null if the proposal does not refer to a
+	 * type, field or method.
+	 */
+	public static String getKey(CompletionProposal proposal) {
+		switch (proposal.getKind()) {
+		case CompletionProposal.TYPE_REF:
+			return (proposal.getSignature() != null) ? getTypeKey(toQualifiedName(proposal.getSignature())) : null;
+		case CompletionProposal.FIELD_REF:
+		case CompletionProposal.FIELD_REF_WITH_CASTED_RECEIVER:
+			if (proposal.getDeclarationSignature() != null && proposal.getName() != null) {
+				return getFieldKey(toQualifiedName(proposal.getDeclarationSignature()),
+						String.valueOf(proposal.getName()));
+			}
+			return null;
+		case CompletionProposal.METHOD_REF:
+		case CompletionProposal.METHOD_REF_WITH_CASTED_RECEIVER:
+		case CompletionProposal.METHOD_NAME_REFERENCE:
+			if (proposal.getDeclarationSignature() != null && proposal.getName() != null
+					&& proposal.getSignature() != null) {
+				return getMethodKey(toQualifiedName(proposal.getDeclarationSignature()),
+						String.valueOf(proposal.getName()),
+						Signature.getParameterTypes(String.valueOf(proposal.getSignature())));
+			}
+			return null;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns true if <code>proposal</code> refers to a method of a parameterized type or to a generic method. The
+	 * parameter types of these proposals may be substituted, e.g. <code>put(String)</code> for
+	 * <code>Box&lt;String&gt;.put(T)</code>, and not match the key of the element.
+	 */
+	public static boolean isGeneric(CompletionProposal proposal) {
+		switch (proposal.getKind()) {
+		case CompletionProposal.METHOD_REF:
+		case CompletionProposal.METHOD_REF_WITH_CASTED_RECEIVER:
+		case CompletionProposal.METHOD_NAME_REFERENCE:
+			if (proposal.getDeclarationSignature() != null
+					&& Signature.getTypeArguments(String.valueOf(proposal.getDeclarationSignature())).length > 0) {
+				return true;
+			}
+			if (proposal.getSignature() != null
+					&& Signature.getTypeParameters(String.valueOf(proposal.getSignature())).length > 0) {
+				return true;
+			}
+			return false;
+		}
+		return false;
+	}
+
+	private static String toQualifiedName(char[] signature) {
+		return Signature.toString(Signature.getTypeErasure(String.valueOf(signature)));
+	}
+
+	private static String getTypeKey(String qualifiedName) {
+		return "T:" + qualifiedName; //$NON-NLS-1$
+	}
+
+	private static String getFieldKey(String declaringTypeName, String name) {
+		return "F:" + declaringTypeName + "." + name; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Parameter types are compared by simple name since signatures in handles of source methods are not resolved.
+	 */
+	private static String getMethodKey(String declaringTypeName, String name, String[] parameterTypes) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("M:").append(declaringTypeName).append(".").append(name).append("("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				sb.append(","); //$NON-NLS-1$
+			}
+			sb.append(Signature.getSimpleName(Signature.toString(Signature.getTypeErasure(parameterTypes[i]))));
+		}
+		sb.append(")"); //$NON-NLS-1$
+		return sb.toString();
+	}
+
+}
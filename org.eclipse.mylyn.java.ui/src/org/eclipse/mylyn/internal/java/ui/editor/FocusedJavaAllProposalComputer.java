@@ -13,13 +13,21 @@
 package org.eclipse.mylyn.internal.java.ui.editor;
 
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.java.FillArgumentNamesCompletionProposalCollector;
 import org.eclipse.jdt.internal.ui.text.java.JavaAllCompletionProposalComputer;
+import org.eclipse.jdt.ui.text.java.CompletionProposalCollector;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 import org.eclipse.mylyn.internal.java.ui.JavaUiUtil;
 
 /**
@@ -30,6 +38,53 @@ import org.eclipse.mylyn.internal.java.ui.JavaUiUtil;
  */
 public class FocusedJavaAllProposalComputer extends JavaAllCompletionProposalComputer {
 
+	private static class RecordingCollector extends CompletionProposalCollector {
+
+		private final Map<IJavaCompletionProposal, CompletionProposal> coreProposals;
+
+		public RecordingCollector(ICompilationUnit unit, Map<IJavaCompletionProposal, CompletionProposal> coreProposals) {
+			super(unit);
+			this.coreProposals = coreProposals;
+		}
+
+		@Override
+		protected IJavaCompletionProposal createJavaCompletionProposal(CompletionProposal proposal) {
+			IJavaCompletionProposal javaProposal = super.createJavaCompletionProposal(proposal);
+			if (javaProposal != null) {
+				coreProposals.put(javaProposal, proposal);
+			}
+			return javaProposal;
+		}
+
+	}
+
+	private static class RecordingFillArgumentNamesCollector extends FillArgumentNamesCompletionProposalCollector {
+
+		private final Map<IJavaCompletionProposal, CompletionProposal> coreProposals;
+
+		public RecordingFillArgumentNamesCollector(JavaContentAssistInvocationContext context,
+				Map<IJavaCompletionProposal, CompletionProposal> coreProposals) {
+			super(context);
+			this.coreProposals = coreProposals;
+		}
+
+		@Override
+		protected IJavaCompletionProposal createJavaCompletionProposal(CompletionProposal proposal) {
+			IJavaCompletionProposal javaProposal = super.createJavaCompletionProposal(proposal);
+			if (javaProposal != null) {
+				coreProposals.put(javaProposal, proposal);
+			}
+			return javaProposal;
+		}
+
+	}
+
+	/**
+	 * The core proposals of the proposals created by the collector of the current thread, which allows scoring
+	 * proposals without resolving their Java element.
+	 */
+	private final ThreadLocal<Map<IJavaCompletionProposal, CompletionProposal>> coreProposals = new ThreadLocal<Map<IJavaCompletionProposal, CompletionProposal>>();
+
 	public FocusedJavaAllProposalComputer() {
 		FocusedJavaProposalProcessor.getDefault().addMonitoredComputer(this);
 	}
@@ -38,13 +93,52 @@ public class FocusedJavaAllProposalComputer extends JavaAllCompletionProposalCom
 	@Override
 	public List computeCompletionProposals(ContentAssistInvocationContext context, IProgressMonitor monitor) {
 		if (shouldReturnResults()) {
-			List proposals = super.computeCompletionProposals(context, monitor);
-			return FocusedJavaProposalProcessor.getDefault().projectInterestModel(this, proposals);
+			try {
+				List proposals = super.computeCompletionProposals(context, monitor);
+				Map<IJavaCompletionProposal, CompletionProposal> proposalMap = coreProposals.get();
+				if (proposalMap == null) {
+					proposalMap = Collections.emptyMap();
+				}
+				return FocusedJavaProposalProcessor.getDefault().projectInterestModel(this, proposals, proposalMap);
+			} finally {
+				coreProposals.remove();
+			}
 		} else {
 			return Collections.emptyList();
 		}
 	}
 
+	@Override
+	protected CompletionProposalCollector createCollector(JavaContentAssistInvocationContext context) {
+		CompletionProposalCollector collector = super.createCollector(context);
+		Map<IJavaCompletionProposal, CompletionProposal> proposalMap = new IdentityHashMap<IJavaCompletionProposal, CompletionProposal>();
+		CompletionProposalCollector recordingCollector;
+		if (collector.getClass() == FillArgumentNamesCompletionProposalCollector.class) {
+			recordingCollector = new RecordingFillArgumentNamesCollector(context, proposalMap);
+		} else if (collector.getClass() == CompletionProposalCollector.class) {
+			recordingCollector = new RecordingCollector(context.getCompilationUnit(), proposalMap);
+		} else {
+			// unknown collector, the elements of proposals are resolved instead
+			return collector;
+		}
+		copySettings(collector, recordingCollector);
+		coreProposals.set(proposalMap);
+		return recordingCollector;
+	}
+
+	private void copySettings(CompletionProposalCollector source, CompletionProposalCollector target) {
+		for (int kind = CompletionProposal.FIRST_KIND; kind <= CompletionProposal.LAST_KIND; kind++) {
+			target.setIgnored(kind, source.isIgnored(kind));
+			for (int requiredKind = CompletionProposal.FIRST_KIND; requiredKind <= CompletionProposal.LAST_KIND; requiredKind++) {
+				if (source.isAllowingRequiredProposals(kind, requiredKind)) {
+					target.setAllowsRequiredProposals(kind, requiredKind, true);
+				}
+			}
+		}
+		target.setFavoriteReferences(source.getFavoriteReferences());
+		target.setRequireExtendedContext(source.isExtendedContextRequired());
+	}
+
 	private boolean shouldReturnResults() {
 		if (JavaUiUtil.isDefaultAssistActive(JavaUiUtil.ASSIST_JDT_ALL)) {
 			// do not return duplicates if the default JDT processor is already enabled on Eclipse 3.5
@@ -13,9 +13,11 @@ package org.eclipse.mylyn.internal.java.ui.editor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.internal.ui.text.java.AbstractJavaCompletionProposal;
 import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProposal;
@@ -80,8 +82,14 @@ public class FocusedJavaProposalProcessor {
 		monitoredProposalComputers.add(proposalComputer);
 	}
 
+	/**
+	 * @param coreProposals
+	 *            maps proposals to the core proposals they were created from, proposals that are not mapped are scored
+	 *            by resolving their Java element
+	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	public List projectInterestModel(IJavaCompletionProposalComputer proposalComputer, List proposals) {
+	public List projectInterestModel(IJavaCompletionProposalComputer proposalComputer, List proposals,
+			Map<?, CompletionProposal> coreProposals) {
 		try {
 			if (!ContextCore.getContextManager().isContextActive()) {
 				return proposals;
@@ -89,7 +97,8 @@ public class FocusedJavaProposalProcessor {
 				boolean hasInterestingProposals = false;
 				for (Object object : proposals) {
 					if (object instanceof AbstractJavaCompletionProposal) {
-						boolean foundInteresting = boostRelevanceWithInterest((AbstractJavaCompletionProposal) object);
+						boolean foundInteresting = boostRelevanceWithInterest((AbstractJavaCompletionProposal) object,
+								coreProposals.get(object));
 						if (!hasInterestingProposals && foundInteresting) {
 							hasInterestingProposals = true;
 						}
@@ -127,25 +136,38 @@ public class FocusedJavaProposalProcessor {
 		}
 	}
 
-	private boolean boostRelevanceWithInterest(AbstractJavaCompletionProposal proposal) {
-		boolean hasInteresting = false;
+	private boolean boostRelevanceWithInterest(AbstractJavaCompletionProposal proposal, CompletionProposal coreProposal) {
+		String key = (coreProposal != null) ? CompletionInterestIndex.getKey(coreProposal) : null;
+		if (key != null) {
+			// avoid resolving the Java element of proposals that refer to types and members
+			float interest = CompletionInterestIndex.getDefault().getInterest(key);
+			if (interest > 0 || !CompletionInterestIndex.isGeneric(coreProposal)) {
+				return boostRelevanceWithInterest(proposal, interest);
+			}
+			// parameter types of generic members may be substituted and not match the key of the element
+		}
+
 		IJavaElement javaElement = proposal.getJavaElement();
 		if (javaElement != null) {
 			IInteractionElement interactionElement = ContextCore.getContextManager().getElement(
 					javaElement.getHandleIdentifier());
-			float interest = interactionElement.getInterest().getValue();
-			if (interest > ContextCore.getCommonContextScaling().getInteresting()) {
-				// TODO: losing precision here, only going to one decimal place
-				proposal.setRelevance(THRESHOLD_INTEREST + (int) (interest * 10));
-				hasInteresting = true;
-			} else if (proposal.getRelevance() > RELEVANCE_IMPLICIT_INTEREST_JAVA) {
-				proposal.setRelevance(THRESHOLD_IMPLICIT_INTEREST + proposal.getRelevance());
-			}
+			return boostRelevanceWithInterest(proposal, interactionElement.getInterest().getValue());
 		} else if (isImplicitlyInteresting(proposal)) {
 			proposal.setRelevance(THRESHOLD_IMPLICIT_INTEREST + proposal.getRelevance());
-			hasInteresting = true;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean boostRelevanceWithInterest(AbstractJavaCompletionProposal proposal, float interest) {
+		if (interest > ContextCore.getCommonContextScaling().getInteresting()) {
+			// TODO: losing precision here, only going to one decimal place
+			proposal.setRelevance(THRESHOLD_INTEREST + (int) (interest * 10));
+			return true;
+		} else if (proposal.getRelevance() > RELEVANCE_IMPLICIT_INTEREST_JAVA) {
+			proposal.setRelevance(THRESHOLD_IMPLICIT_INTEREST + proposal.getRelevance());
 		}
-		return hasInteresting;
+		return false;
 	}
 
 	public boolean isImplicitlyInteresting(AbstractJavaCompletionProposal proposal) {
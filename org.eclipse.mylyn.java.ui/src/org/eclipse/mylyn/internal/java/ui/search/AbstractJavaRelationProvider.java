@@ -12,9 +12,14 @@
 package org.eclipse.mylyn.internal.java.ui.search;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -23,8 +28,9 @@ import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IImportDeclaration;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IJavaElement;
@@ -43,8 +49,11 @@ import org.eclipse.jdt.ui.search.QuerySpecification;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.context.core.AbstractContextStructureBridge;
 import org.eclipse.mylyn.context.core.ContextCore;
+import org.eclipse.mylyn.context.core.IInteractionContext;
 import org.eclipse.mylyn.context.core.IInteractionElement;
 import org.eclipse.mylyn.internal.context.core.AbstractRelationProvider;
+import org.eclipse.mylyn.internal.context.core.ActiveSearchScheduler;
+import org.eclipse.mylyn.internal.context.core.CompositeInteractionContext;
 import org.eclipse.mylyn.internal.context.core.DegreeOfSeparation;
 import org.eclipse.mylyn.internal.context.core.IActiveSearchListener;
 import org.eclipse.mylyn.internal.context.core.IActiveSearchOperation;
@@ -68,7 +77,36 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 
 	private static final int DEFAULT_DEGREE = 2;
 
-	private static final List<Job> runningJobs = new ArrayList<Job>();
+	private static final Map<Integer, CachedScope> scopeCache = new HashMap<Integer, CachedScope>();
+
+	/**
+	 * Scopes depend on the existence of elements and on the state of projects.
+	 */
+	private static final IElementChangedListener scopeCacheListener = new IElementChangedListener() {
+		public void elementChanged(ElementChangedEvent event) {
+			clearScopeCache();
+		}
+	};
+
+	private static boolean scopeCacheListenerRegistered;
+
+	/** Incremented when the cache is cleared to discard scopes that are computed concurrently. */
+	private static int scopeCacheVersion;
+
+	private static final AtomicInteger scopeComputationCount = new AtomicInteger();
+
+	private static class CachedScope {
+
+		private final Set<Long> key;
+
+		private final IJavaSearchScope scope;
+
+		public CachedScope(Set<Long> key, IJavaSearchScope scope) {
+			this.key = key;
+			this.scope = scope;
+		}
+
+	}
 
 	@Override
 	public String getGenericId() {
@@ -109,22 +147,91 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 			return;
 		}
 
-		IJavaSearchScope scope = createJavaSearchScope(javaElement, degreeOfSeparation);
+		IJavaSearchScope scope = createJavaSearchScope(degreeOfSeparation);
 		if (scope != null) {
 			runJob(node, degreeOfSeparation, getId());
 		}
 	}
 
-	private IJavaSearchScope createJavaSearchScope(IJavaElement element, int degreeOfSeparation) {
-		Set<IInteractionElement> landmarks = ContextCore.getContextManager().getActiveLandmarks();
-		List<IInteractionElement> interestingElements = ContextCore.getContextManager()
-				.getActiveContext()
-				.getInteresting();
+	/**
+	 * Returns a search scope for <code>degreeOfSeparation</code>. Scopes are shared between all Java relation
+	 * providers and reused until the active context or the Java model changes. Public for testing.
+	 */
+	public static IJavaSearchScope createJavaSearchScope(int degreeOfSeparation) {
+		if (degreeOfSeparation == 5) {
+			return SearchEngine.createWorkspaceScope();
+		} else if (degreeOfSeparation < 1 || degreeOfSeparation > 4) {
+			return null;
+		}
+
+		IInteractionContext context = ContextCore.getContextManager().getActiveContext();
+		Set<Long> key = null;
+		int version = 0;
+		if (context instanceof CompositeInteractionContext) {
+			key = ((CompositeInteractionContext) context).getModificationStamps();
+			registerScopeCacheListener();
+			synchronized (scopeCache) {
+				CachedScope cachedScope = scopeCache.get(degreeOfSeparation);
+				if (cachedScope != null && cachedScope.key.equals(key)) {
+					return cachedScope.scope;
+				}
+				version = scopeCacheVersion;
+			}
+		}
 
+		Collection<IInteractionElement> sourceElements;
+		if (degreeOfSeparation == 1) {
+			sourceElements = ContextCore.getContextManager().getActiveLandmarks();
+		} else {
+			sourceElements = context.getInteresting();
+		}
+		IJavaSearchScope scope = computeJavaSearchScope(degreeOfSeparation, sourceElements);
+		if (key != null) {
+			synchronized (scopeCache) {
+				if (version == scopeCacheVersion) {
+					scopeCache.put(degreeOfSeparation, new CachedScope(key, scope));
+				}
+			}
+		}
+		return scope;
+	}
+
+	private static synchronized void registerScopeCacheListener() {
+		if (!scopeCacheListenerRegistered) {
+			JavaCore.addElementChangedListener(scopeCacheListener, ElementChangedEvent.POST_CHANGE);
+			scopeCacheListenerRegistered = true;
+		}
+	}
+
+	private static void clearScopeCache() {
+		synchronized (scopeCache) {
+			scopeCacheVersion++;
+			scopeCache.clear();
+		}
+	}
+
+	public static synchronized void disposeScopeCache() {
+		if (scopeCacheListenerRegistered) {
+			JavaCore.removeElementChangedListener(scopeCacheListener);
+			scopeCacheListenerRegistered = false;
+		}
+		clearScopeCache();
+	}
+
+	/**
+	 * Public for testing.
+	 */
+	public static int getScopeComputationCount() {
+		return scopeComputationCount.get();
+	}
+
+	private static IJavaSearchScope computeJavaSearchScope(int degreeOfSeparation,
+			Collection<IInteractionElement> sourceElements) {
+		scopeComputationCount.incrementAndGet();
 		Set<IJavaElement> searchElements = new HashSet<IJavaElement>();
 		int includeMask = IJavaSearchScope.SOURCES;
 		if (degreeOfSeparation == 1) {
-			for (IInteractionElement landmark : landmarks) {
+			for (IInteractionElement landmark : sourceElements) {
 				AbstractContextStructureBridge bridge = ContextCore.getStructureBridge(landmark.getContentType());
 				if (includeNodeInScope(landmark, bridge)) {
 					Object o = bridge.getObjectForHandle(landmark.getHandleIdentifier());
@@ -141,7 +248,7 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 				}
 			}
 		} else if (degreeOfSeparation == 2) {
-			for (IInteractionElement interesting : interestingElements) {
+			for (IInteractionElement interesting : sourceElements) {
 				AbstractContextStructureBridge bridge = ContextCore.getStructureBridge(interesting.getContentType());
 				if (includeNodeInScope(interesting, bridge)) {
 					Object object = bridge.getObjectForHandle(interesting.getHandleIdentifier());
@@ -158,7 +265,7 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 				}
 			}
 		} else if (degreeOfSeparation == 3 || degreeOfSeparation == 4) {
-			for (IInteractionElement interesting : interestingElements) {
+			for (IInteractionElement interesting : sourceElements) {
 				AbstractContextStructureBridge bridge = ContextCore.getStructureBridge(interesting.getContentType());
 				if (includeNodeInScope(interesting, bridge)) {
 					// TODO what to do when the element is not a java element,
@@ -180,8 +287,6 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 				includeMask = IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES
 						| IJavaSearchScope.SYSTEM_LIBRARIES;
 			}
-		} else if (degreeOfSeparation == 5) {
-			return SearchEngine.createWorkspaceScope();
 		}
 
 		if (searchElements.size() == 0) {
@@ -200,7 +305,7 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 	/**
 	 * Only include Java elements and files.
 	 */
-	private boolean includeNodeInScope(IInteractionElement interesting, AbstractContextStructureBridge bridge) {
+	private static boolean includeNodeInScope(IInteractionElement interesting, AbstractContextStructureBridge bridge) {
 		if (interesting == null || bridge == null) {
 			return false;
 		} else {
@@ -244,7 +349,6 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 			return;
 		}
 
-		JavaSearchJob job = new JavaSearchJob(query.getLabel(), query);
 		query.addListener(new IActiveSearchListener() {
 
 			private boolean gathered = false;
@@ -255,24 +359,19 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 
 			@SuppressWarnings("rawtypes")
 			public void searchCompleted(List l) {
-				if (l == null) {
+				if (l == null || !node.getInterest().isLandmark()) {
+					// the landmark was removed while searching
 					return;
 				}
-				List<IJavaElement> relatedHandles = new ArrayList<IJavaElement>();
+				Set<String> relatedHandles = new LinkedHashSet<String>();
 				Object[] elements = l.toArray();
 				for (Object element : elements) {
-					if (element instanceof IJavaElement) {
-						relatedHandles.add((IJavaElement) element);
+					if (element instanceof IJavaElement && acceptResultElement((IJavaElement) element)) {
+						relatedHandles.add(((IJavaElement) element).getHandleIdentifier());
 					}
 				}
 
-				for (IJavaElement element : relatedHandles) {
-					if (!acceptResultElement(element)) {
-						continue;
-					}
-					incrementInterest(node, JavaStructureBridge.CONTENT_TYPE, element.getHandleIdentifier(),
-							degreeOfSeparation);
-				}
+				incrementInterest(node, JavaStructureBridge.CONTENT_TYPE, relatedHandles, degreeOfSeparation);
 				gathered = true;
 				AbstractJavaRelationProvider.this.searchCompleted(node);
 			}
@@ -280,9 +379,8 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 		});
 		InternalSearchUI.getInstance();
 
-		runningJobs.add(job);
-		job.setPriority(Job.DECORATE - 10);
-		job.schedule();
+		ActiveSearchScheduler.getDefault().schedule(node.getHandleIdentifier(), getId(), degreeOfSeparation,
+				query.getLabel(), query);
 	}
 
 	@Override
@@ -292,7 +390,7 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 			return null;
 		}
 
-		IJavaSearchScope scope = createJavaSearchScope(javaElement, degreeOfSeparation);
+		IJavaSearchScope scope = createJavaSearchScope(degreeOfSeparation);
 
 		if (scope == null) {
 			return null;
@@ -304,25 +402,6 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 		return new JavaSearchOperation(specs);
 	}
 
-	protected static class JavaSearchJob extends Job {
-
-		private final JavaSearchOperation op;
-
-		public JavaSearchJob(String name, JavaSearchOperation op) {
-			super(name);
-			this.op = op;
-		}
-
-		/**
-		 * @see org.eclipse.core.runtime.jobs.Job#run(org.eclipse.core.runtime.IProgressMonitor)
-		 */
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			return op.run(monitor);
-		}
-
-	}
-
 	protected static class JavaSearchOperation extends JavaSearchQuery implements IActiveSearchOperation {
 		private ISearchResult result = null;
 
@@ -416,10 +495,7 @@ public abstract class AbstractJavaRelationProvider extends AbstractRelationProvi
 
 	@Override
 	public void stopAllRunningJobs() {
-		for (Job j : runningJobs) {
-			j.cancel();
-		}
-		runningJobs.clear();
+		ActiveSearchScheduler.getDefault().cancelAll(getId());
 	}
 
 	@Override
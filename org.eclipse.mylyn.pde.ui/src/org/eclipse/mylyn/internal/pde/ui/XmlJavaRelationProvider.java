@@ -29,7 +29,6 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
@@ -40,6 +39,7 @@ import org.eclipse.mylyn.context.core.AbstractContextStructureBridge;
 import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionElement;
 import org.eclipse.mylyn.internal.context.core.AbstractRelationProvider;
+import org.eclipse.mylyn.internal.context.core.ActiveSearchScheduler;
 import org.eclipse.mylyn.internal.context.core.ContextCorePlugin;
 import org.eclipse.mylyn.internal.context.core.DegreeOfSeparation;
 import org.eclipse.mylyn.internal.context.core.IActiveSearchListener;
@@ -68,8 +68,6 @@ public class XmlJavaRelationProvider extends AbstractRelationProvider {
 
 	public static final int DEFAULT_DEGREE = 3;
 
-	public static final List<Job> runningJobs = new ArrayList<Job>();
-
 	public static final Map<Match, XmlNodeHelper> nodeMap = new HashMap<Match, XmlNodeHelper>();
 
 	public XmlJavaRelationProvider() {
@@ -201,14 +199,13 @@ public class XmlJavaRelationProvider extends AbstractRelationProvider {
 		// Create the search query
 		final XMLSearchOperation query = (XMLSearchOperation) getSearchOperation(node, 0, degreeOfSeparation);
 		if (query != null) {
-			XMLSearchJob job = new XMLSearchJob(query.getLabel(), query);
 			query.addListener(new IActiveSearchListener() {
 
 				private boolean gathered = false;
 
 				public void searchCompleted(List<?> l) {
 					// deal with File
-					if (l.isEmpty()) {
+					if (l.isEmpty() || !node.getInterest().isLandmark()) {
 						return;
 					}
 
@@ -252,10 +249,7 @@ public class XmlJavaRelationProvider extends AbstractRelationProvider {
 						}
 					}
 
-					for (String handle : nodes.keySet()) {
-
-						incrementInterest(node, PdeStructureBridge.CONTENT_TYPE, handle, degreeOfSeparation);
-					}
+					incrementInterest(node, PdeStructureBridge.CONTENT_TYPE, nodes.keySet(), degreeOfSeparation);
 					gathered = true;
 					XmlJavaRelationProvider.this.searchCompleted(node);
 				}
@@ -264,9 +258,8 @@ public class XmlJavaRelationProvider extends AbstractRelationProvider {
 					return gathered;
 				}
 			});
-			runningJobs.add(job);
-			job.setPriority(Job.DECORATE - 10);
-			job.schedule();
+			ActiveSearchScheduler.getDefault().schedule(node.getHandleIdentifier(), getId(), degreeOfSeparation,
+					query.getLabel(), query);
 		}
 	}
 
@@ -296,27 +289,6 @@ public class XmlJavaRelationProvider extends AbstractRelationProvider {
 		}
 	}
 
-	public static class XMLSearchJob extends Job {
-
-		private final XMLSearchOperation op;
-
-		/**
-		 * Constructor
-		 * 
-		 * @param name
-		 */
-		public XMLSearchJob(String name, XMLSearchOperation op) {
-			super(name);
-			this.op = op;
-		}
-
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			return op.run(monitor);
-		}
-
-	}
-
 	public static class XMLSearchOperation extends FileSearchQuery implements IActiveSearchOperation {
 
 		@Override
@@ -430,10 +402,7 @@ public class XmlJavaRelationProvider extends AbstractRelationProvider {
 
 	@Override
 	public void stopAllRunningJobs() {
-		for (Job j : runningJobs) {
-			j.cancel();
-		}
-		runningJobs.clear();
+		ActiveSearchScheduler.getDefault().cancelAll(getId());
 	}
 
 	@Override
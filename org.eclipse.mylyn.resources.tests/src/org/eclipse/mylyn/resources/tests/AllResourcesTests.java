@@ -27,9 +27,11 @@ public class AllResourcesTests {
 		TestSuite suite = new TestSuite("Test for org.eclipse.mylyn.resources.tests");
 		suite.addTestSuite(ResourceChangeMonitorTest.class);
 		suite.addTestSuite(ResourcePatternExclusionStrategyTest.class);
+		suite.addTestSuite(ResourcePatternMatcherTest.class);
 		suite.addTestSuite(ResourceModificationDateExclusionStrategyTest.class);
 		suite.addTestSuite(ResourceContextTest.class);
 		suite.addTestSuite(ResourcesUiTest.class);
+		suite.addTestSuite(ResourceInterestUpdaterTest.class);
 		return suite;
 	}
 
@@ -33,6 +33,8 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.context.core.IInteractionElement;
 import org.eclipse.mylyn.context.sdk.util.AbstractResourceContextTest;
+import org.eclipse.mylyn.internal.context.core.ContextCorePlugin;
+import org.eclipse.mylyn.internal.context.core.InteractionContext;
 import org.eclipse.mylyn.internal.resources.ui.ResourceChangeMonitor;
 import org.eclipse.mylyn.internal.resources.ui.ResourcesUiBridgePlugin;
 import org.eclipse.mylyn.internal.resources.ui.ResourcesUiPreferenceInitializer;
@@ -122,6 +124,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 
 	@Override
 	protected void tearDown() throws Exception {
+		changeMonitor.dispose();
 		ResourcesUiBridgePlugin.getInterestUpdater().setSyncExec(false);
 		super.tearDown();
 		// re-enable ResourceModifiedDateExclusionStrategy
@@ -135,6 +138,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				new String[] { "/test.txt" }, (IResourceDelta.ADDED | IResourceDelta.CONTENT), IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
@@ -142,14 +146,14 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 		assertTrue(element.getInterest().isPropagated());
 	}
 
-	public void testLargeFileChangeNotAddedToContext() throws CoreException {
-
+	public void testLargeFileChangeAddedToContext() throws CoreException {
+		List<IFile> files = new ArrayList<IFile>();
 		List<String> filePaths = new ArrayList<String>();
-		filePaths.add("/" + file.getProjectRelativePath().toPortableString());
-		for (int i = 0; i < 10; i++) {
+		for (int i = 0; i < 100; i++) {
 			IFile newFile = project.getProject().getFile("test" + i + ".txt");
 			newFile.create(null, true, null);
 			assertTrue(newFile.exists());
+			files.add(newFile);
 			filePaths.add("/" + newFile.getProjectRelativePath().toPortableString());
 		}
 
@@ -158,20 +162,24 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
-		String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
-		assertNotNull(handle);
-		IInteractionElement element = context.get(handle);
-		assertNull(element);
+		changeMonitor.flush();
+		for (IFile newFile : files) {
+			String handle = ContextCore.getStructureBridge(newFile).getHandleIdentifier(newFile);
+			assertNotNull(handle);
+			IInteractionElement element = context.get(handle);
+			assertNotNull(element);
+			assertTrue(element.getInterest().isPredicted());
+		}
 	}
 
-	public void testLargeFileAddedNotAddedToContext() throws CoreException {
-
+	public void testLargeFileAddedAddedToContext() throws CoreException {
+		List<IFile> files = new ArrayList<IFile>();
 		List<String> filePaths = new ArrayList<String>();
-		filePaths.add("/" + file.getProjectRelativePath().toPortableString());
-		for (int i = 0; i < 10; i++) {
+		for (int i = 0; i < 100; i++) {
 			IFile newFile = project.getProject().getFile("test" + i + ".txt");
 			newFile.create(null, true, null);
 			assertTrue(newFile.exists());
+			files.add(newFile);
 			filePaths.add("/" + newFile.getProjectRelativePath().toPortableString());
 		}
 
@@ -180,13 +188,17 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
-		String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
-		assertNotNull(handle);
-		IInteractionElement element = context.get(handle);
-		assertNull(element);
+		changeMonitor.flush();
+		for (IFile newFile : files) {
+			String handle = ContextCore.getStructureBridge(newFile).getHandleIdentifier(newFile);
+			assertNotNull(handle);
+			IInteractionElement element = context.get(handle);
+			assertNotNull(element);
+			assertTrue(element.getInterest().isPropagated());
+		}
 	}
 
-	public void testLargeFolderAddedNotAddedToContext() throws CoreException {
+	public void testFoldersAddedNotAddedToContext() throws CoreException {
 
 		List<String> folderPaths = new ArrayList<String>();
 		folderPaths.add("/" + folder.getProjectRelativePath().toPortableString());
@@ -202,13 +214,14 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(folder).getHandleIdentifier(folder);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
 		assertNull(element);
 	}
 
-	public void testLargeFolderChangeNotAddedToContext() throws CoreException {
+	public void testFoldersChangedNotAddedToContext() throws CoreException {
 
 		List<String> folderPaths = new ArrayList<String>();
 		folderPaths.add("/" + folder.getProjectRelativePath().toPortableString());
@@ -224,6 +237,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(folder).getHandleIdentifier(folder);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
@@ -240,6 +254,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(folder).getHandleIdentifier(folder);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
@@ -251,6 +266,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				new String[] { "/test.txt" }, (IResourceDelta.CHANGED | IResourceDelta.CONTENT), IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
@@ -258,6 +274,30 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 		assertTrue(element.getInterest().isPredicted());
 	}
 
+	public void testChangesDiscardedAfterContextSwitch() throws CoreException {
+		MockResourceDelta delta = MockResourceDelta.createMockDelta("/" + project.getProject().getName(),
+				new String[] { "/test.txt" }, (IResourceDelta.CHANGED | IResourceDelta.CONTENT), IResource.PROJECT);
+		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
+		changeMonitor.resourceChanged(event);
+		String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
+
+		// another context is activated before the changes are processed
+		manager.deactivateContext(taskId);
+		InteractionContext otherContext = new InteractionContext("other", scaling);
+		manager.internalActivateContext(otherContext);
+		try {
+			changeMonitor.flush();
+			assertNull(otherContext.get(handle));
+		} finally {
+			manager.deactivateContext("other");
+			manager.deleteContext("other");
+			ContextCorePlugin.getContextStore().getFileForContext("other").delete();
+			manager.internalActivateContext(context);
+		}
+		changeMonitor.flush();
+		assertNull(context.get(handle));
+	}
+
 	public void testDerrivedFileChanged() throws CoreException {
 		fileInFolder.setDerived(true, null);
 
@@ -265,6 +305,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 				new String[] { "/test.txt" }, (IResourceDelta.CHANGED | IResourceDelta.CONTENT), IResource.PROJECT);
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(fileInFolder).getHandleIdentifier(fileInFolder);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
@@ -287,6 +328,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 
 		IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 		changeMonitor.resourceChanged(event);
+		changeMonitor.flush();
 		String handle = ContextCore.getStructureBridge(fileInFolder).getHandleIdentifier(folder);
 		assertNotNull(handle);
 		IInteractionElement element = context.get(handle);
@@ -305,6 +347,7 @@ public class ResourceChangeMonitorTest extends AbstractResourceContextTest {
 					new String[] { "/test.txt" }, (IResourceDelta.CHANGED | IResourceDelta.CONTENT), IResource.PROJECT);
 			IResourceChangeEvent event = new ResourceChangeEvent(delta, IResourceChangeEvent.POST_CHANGE, 0, delta);
 			changeMonitor.resourceChanged(event);
+			changeMonitor.flush();
 			String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
 			assertNotNull(handle);
 			IInteractionElement element = context.get(handle);
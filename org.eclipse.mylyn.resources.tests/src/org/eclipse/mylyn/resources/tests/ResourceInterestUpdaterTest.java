@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.resources.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.context.core.ContextCore;
+import org.eclipse.mylyn.context.core.IInteractionElement;
+import org.eclipse.mylyn.context.sdk.util.AbstractResourceContextTest;
+import org.eclipse.mylyn.internal.context.core.ContextCorePlugin;
+import org.eclipse.mylyn.internal.context.core.InteractionContext;
+import org.eclipse.mylyn.internal.resources.ui.ResourceInterestUpdater;
+import org.eclipse.mylyn.internal.resources.ui.ResourcesUiBridgePlugin;
+import org.eclipse.mylyn.monitor.core.InteractionEvent;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+public class ResourceInterestUpdaterTest extends AbstractResourceContextTest {
+
+	private static final int FILE_COUNT = 10000;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		ResourcesUiBridgePlugin.getDefault().setResourceMonitoringEnabled(false);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ResourcesUiBridgePlugin.getDefault().setResourceMonitoringEnabled(true);
+		super.tearDown();
+	}
+
+	public void testBulkImport() throws Exception {
+		final List<IFile> files = new ArrayList<IFile>();
+		ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+			public void run(IProgressMonitor monitor) throws CoreException {
+				IFolder folder = project.getProject().getFolder("import");
+				folder.create(true, true, null);
+				for (int i = 0; i < FILE_COUNT; i++) {
+					IFile file = folder.getFile("file" + i + ".txt");
+					file.create(null, true, null);
+					files.add(file);
+				}
+			}
+		}, null);
+
+		ResourceInterestUpdater updater = new ResourceInterestUpdater();
+		for (IFile file : files) {
+			updater.addResourceToContext(Collections.singleton(file), InteractionEvent.Kind.PROPAGATION);
+		}
+
+		IFile lastFile = files.get(files.size() - 1);
+		String lastHandle = ContextCore.getStructureBridge(lastFile).getHandleIdentifier(lastFile);
+		Display display = PlatformUI.getWorkbench().getDisplay();
+		long end = System.currentTimeMillis() + 30000;
+		while (!context.isInteresting(lastHandle) && System.currentTimeMillis() < end) {
+			while (display.readAndDispatch()) {
+			}
+			Thread.sleep(10);
+		}
+
+		for (IFile file : files) {
+			IInteractionElement element = context.get(ContextCore.getStructureBridge(file).getHandleIdentifier(file));
+			assertNotNull(element);
+			assertTrue(element.getInterest().isPropagated());
+		}
+		assertTrue("dispatched " + updater.getDispatchCount() + " runnables", updater.getDispatchCount() <= 2);
+	}
+
+	public void testUpdatesDiscardedAfterContextSwitch() throws Exception {
+		IFile file = project.getProject().getFile("test.txt");
+		file.create(null, true, null);
+		String handle = ContextCore.getStructureBridge(file).getHandleIdentifier(file);
+
+		ResourceInterestUpdater updater = new ResourceInterestUpdater();
+		updater.addResourceToContext(Collections.singleton(file), InteractionEvent.Kind.PROPAGATION);
+
+		// another context is activated before the update job runs
+		manager.deactivateContext(taskId);
+		InteractionContext otherContext = new InteractionContext("other", scaling);
+		manager.internalActivateContext(otherContext);
+		try {
+			Display display = PlatformUI.getWorkbench().getDisplay();
+			long end = System.currentTimeMillis() + 1000;
+			while (System.currentTimeMillis() < end) {
+				while (display.readAndDispatch()) {
+				}
+				Thread.sleep(10);
+			}
+			assertNull(otherContext.get(handle));
+		} finally {
+			manager.deactivateContext("other");
+			manager.deleteContext("other");
+			ContextCorePlugin.getContextStore().getFileForContext("other").delete();
+			manager.internalActivateContext(context);
+		}
+		assertNull(context.get(handle));
+	}
+
+}
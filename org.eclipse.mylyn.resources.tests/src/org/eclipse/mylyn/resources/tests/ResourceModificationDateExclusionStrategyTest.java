@@ -177,6 +177,16 @@ public class ResourceModificationDateExclusionStrategyTest extends AbstractResou
 		assertTrue(exclusionStrategy.isExcluded(file));
 	}
 
+	public void testModifiedFileStampRestored() throws CoreException {
+		file.setLocalTimeStamp(new Date().getTime());
+		assertFalse(exclusionStrategy.isExcluded(file));
+
+		// stamps may decrease, e.g. when a file is restored from local history
+		long oldDate = exclusionStrategy.getLastActivatedDate().getTime() - 1000 * 60 * 10;
+		file.setLocalTimeStamp(oldDate);
+		assertTrue(exclusionStrategy.isExcluded(file));
+	}
+
 	public void testWasModifiedAfterNullDate() {
 		assertFalse(exclusionStrategy.wasModifiedAfter(null, null));
 		assertFalse(exclusionStrategy.wasModifiedAfter(file, null));
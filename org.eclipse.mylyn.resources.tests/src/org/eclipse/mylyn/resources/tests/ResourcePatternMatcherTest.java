@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.resources.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+import org.eclipse.mylyn.internal.resources.ui.ResourcePatternExclusionStrategy;
+import org.eclipse.mylyn.internal.resources.ui.ResourcePatternMatcher;
+
+public class ResourcePatternMatcherTest extends TestCase {
+
+	private static final String[] PATTERN_SEGMENTS = { "a", "B", "**", "*", "?", "a*", "*.b", "?b", ".*", "ab", "A?",
+			"***.b" };
+
+	private static final String[] PATH_SEGMENTS = { "a", "b", "ab", "A", "aB", ".b", ".a", "x", "ba", "a.b", "x.B" };
+
+	private static boolean matchesAnt(String pattern, String path) {
+		return SelectorUtils.matchPath(pattern, path, false) || SelectorUtils.match(pattern, path, false);
+	}
+
+	private static String createPath(Random random, String[] segments, int maxSegments) {
+		StringBuilder sb = new StringBuilder();
+		int count = random.nextInt(maxSegments + 1);
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				sb.append('/');
+			}
+			sb.append(segments[random.nextInt(segments.length)]);
+		}
+		return sb.toString();
+	}
+
+	public void testMatchesLikeAnt() {
+		Random random = new Random(1);
+		for (int i = 0; i < 20000; i++) {
+			String pattern = createPath(random, PATTERN_SEGMENTS, 4);
+			if (pattern.length() == 0) {
+				continue;
+			}
+			if (random.nextInt(10) == 0) {
+				pattern += "/";
+			}
+			ResourcePatternMatcher matcher = new ResourcePatternMatcher(Collections.singleton(pattern));
+			for (int j = 0; j < 10; j++) {
+				String path = createPath(random, PATH_SEGMENTS, 4);
+				assertEquals("pattern: " + pattern + ", path: " + path, matchesAnt(pattern, path), matcher.matches(path));
+			}
+		}
+	}
+
+	public void testMatchesAnyPattern() {
+		Set<String> patterns = new HashSet<String>();
+		patterns.addAll(ResourcePatternExclusionStrategy.convertToAntPattern(".*"));
+		patterns.addAll(ResourcePatternExclusionStrategy.convertToAntPattern("*.doc"));
+		patterns.addAll(ResourcePatternExclusionStrategy.convertToAntPattern("~*"));
+		patterns.add("target/**");
+		patterns.add("**/folder/***.doc");
+		ResourcePatternMatcher matcher = new ResourcePatternMatcher(patterns);
+
+		String[] paths = { "", ".foo", "src/.foo", ".foo/test", "src/.foo/test", "test.doc", "src/test.DOC",
+				"src/test.docx", "~test", "src/~test", "target", "target/classes/A.class", "src/target",
+				"folder/test.doc", "a/folder/b/test.doc", "a/b/c/test.doc2", "src/Test.java" };
+		for (String path : paths) {
+			boolean expected = false;
+			for (String pattern : patterns) {
+				expected |= matchesAnt(pattern, path);
+			}
+			assertEquals(path, expected, matcher.matches(path));
+			// cached result
+			assertEquals(path, expected, matcher.matches(path));
+		}
+	}
+
+	public void testMatchesUri() {
+		ResourcePatternMatcher matcher = new ResourcePatternMatcher(Collections.singleton("file:/C:/excluded"));
+		assertTrue(matcher.matchesUri("file:/C:/excluded/file.txt"));
+		assertFalse(matcher.matchesUri("file:/C:/included/file.txt"));
+		assertFalse(matcher.matchesUri(null));
+	}
+
+	public void testMatchingManyPatterns() {
+		Set<String> patterns = new HashSet<String>();
+		for (int i = 0; i < 50; i++) {
+			patterns.addAll(ResourcePatternExclusionStrategy.convertToAntPattern("excluded" + i));
+		}
+		ResourcePatternMatcher matcher = new ResourcePatternMatcher(patterns);
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < 10000; i++) {
+			paths.add("src/org/eclipse/mylyn/package" + i + "/Type" + i + ".java");
+		}
+
+		long start = System.currentTimeMillis();
+		for (String path : paths) {
+			assertFalse(matcher.matches(path));
+		}
+		long compiled = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+		for (String path : paths) {
+			for (String pattern : patterns) {
+				assertFalse(matchesAnt(pattern, path));
+			}
+		}
+		long uncompiled = System.currentTimeMillis() - start;
+
+		assertTrue("matching took " + compiled + " ms compared to " + uncompiled + " ms",
+				compiled <= Math.max(uncompiled, 100));
+	}
+
+}
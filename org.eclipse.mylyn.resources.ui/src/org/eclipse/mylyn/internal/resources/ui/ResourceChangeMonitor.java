@@ -12,8 +12,10 @@
 package org.eclipse.mylyn.internal.resources.ui;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
@@ -26,21 +28,28 @@ import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.context.core.ContextCore;
 import org.eclipse.mylyn.monitor.core.InteractionEvent;
 import org.eclipse.mylyn.resources.ui.ResourcesUi;
 
 /**
+ * Records the resources affected by resource changes and adds them to the active context in the background. Resource
+ * deltas are only traversed in the notification, exclusions are evaluated in batches by a background job. Pending
+ * changes are discarded if a different context is active when they are processed.
+ * 
  * @author Mik Kersten
  */
 public class ResourceChangeMonitor implements IResourceChangeListener {
 
-	private static final int MAX_FILE_DELTA_SIZE = 10;
+	private static final int CHUNK_SIZE = 200;
 
-	private static final int MAX_NEW_FOLDER_DELTA_SIZE = 3;
+	private static final long PROCESS_DELAY = 200;
 
 	private class ResourceDeltaVisitor implements IResourceDeltaVisitor {
 
@@ -50,21 +59,9 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 
 		private boolean haveTeamPrivateMember;
 
-		private final List<IResourceExclusionStrategy> resourceExclusions;
-
-		private int numNonExcludedFiles = 0;
-
-		private int numAddedFolders = 0;
-
-		public ResourceDeltaVisitor(List<IResourceExclusionStrategy> resourceExclusions) {
-			this.resourceExclusions = resourceExclusions;
-			this.addedResources = new HashSet<IResource>();
-			this.changedResources = new HashSet<IResource>();
-
-			// make sure that the exclusions are updated 
-			for (IResourceExclusionStrategy exclusion : exclusions) {
-				exclusion.update();
-			}
+		public ResourceDeltaVisitor() {
+			this.addedResources = new LinkedHashSet<IResource>();
+			this.changedResources = new LinkedHashSet<IResource>();
 		}
 
 		public boolean hasValidResult() {
@@ -84,25 +81,20 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 				return false;
 			}
 
-			if (isExcluded(deltaResource)) {
+			// prune excluded containers, the remaining resources are filtered by the background job
+			if (deltaResource instanceof IContainer && isExcluded(deltaResource)) {
 				return false;
 			}
 
 			IResourceDelta[] added = delta.getAffectedChildren(IResourceDelta.ADDED);
 			for (IResourceDelta element : added) {
 				IResource resource = element.getResource();
-				if ((resource instanceof IFile || resource instanceof IFolder) && !isExcluded(resource)) {
+				if (resource instanceof IFile || resource instanceof IFolder) {
 
 					if (hasTeamPrivate(resource)) {
 						return false;
 					}
 
-					if (resource instanceof IFile) {
-						numNonExcludedFiles++;
-					} else if (resource instanceof IFolder) {
-						numAddedFolders++;
-					}
-
 					addedResources.add(resource);
 				}
 			}
@@ -111,7 +103,7 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 			for (IResourceDelta element : changed) {
 				IResource resource = element.getResource();
 				// special rule for feature.xml files: bug 249856 
-				if (resource instanceof IFile && !isExcluded(resource) && !"feature.xml".equals(resource.getName())) { //$NON-NLS-1$
+				if (resource instanceof IFile && !"feature.xml".equals(resource.getName())) { //$NON-NLS-1$
 					if (element.getKind() == IResourceDelta.CHANGED
 							&& (element.getFlags() & IResourceDelta.CONTENT) == 0) {
 						// make sure that there was a content change and not just a markers change
@@ -121,9 +113,6 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 					if (hasTeamPrivate(resource)) {
 						return false;
 					}
-					if (resource instanceof IFile) {
-						numNonExcludedFiles++;
-					}
 					changedResources.add(resource);
 				}
 			}
@@ -141,15 +130,6 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 			return false;
 		}
 
-		private boolean isExcluded(IResource resource) {
-			for (IResourceExclusionStrategy exclusion : resourceExclusions) {
-				if (exclusion.isExcluded(resource)) {
-					return true;
-				}
-			}
-			return false;
-		}
-
 		public Set<IResource> getChangedResources() {
 			return changedResources;
 		}
@@ -158,20 +138,27 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 			return addedResources;
 		}
 
-		public int getNumChangedAndAddedFiles() {
-			return numNonExcludedFiles;
-		}
-
-		public int getNumAddedFolders() {
-			return numAddedFolders;
-		}
-
 	};
 
 	private boolean enabled;
 
 	private final List<IResourceExclusionStrategy> exclusions = new ArrayList<IResourceExclusionStrategy>();
 
+	private Set<IResource> pendingChangedResources = new LinkedHashSet<IResource>();
+
+	private Set<IResource> pendingAddedResources = new LinkedHashSet<IResource>();
+
+	/** The handle of the context that was active when the pending changes were recorded. */
+	private String pendingContextHandle;
+
+	private final Job processJob = new Job("Update Context for Resource Changes") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			processPendingChanges(monitor);
+			return (monitor.isCanceled()) ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	};
+
 	public ResourceChangeMonitor() {
 		this.enabled = true;
 		// ant based pattern exclusion
@@ -182,18 +169,30 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 		for (IResourceExclusionStrategy exclusion : exclusions) {
 			exclusion.init();
 		}
+
+		processJob.setSystem(true);
+		processJob.setPriority(Job.DECORATE);
 	}
 
 	public void dispose() {
+		processJob.cancel();
+		synchronized (this) {
+			pendingChangedResources.clear();
+			pendingAddedResources.clear();
+			pendingContextHandle = null;
+		}
 		for (IResourceExclusionStrategy exclusion : exclusions) {
 			exclusion.dispose();
 		}
 		exclusions.clear();
 	}
 
-	// TODO investigate moving computation to the background?
 	public void resourceChanged(IResourceChangeEvent event) {
-		if (!enabled || !ContextCore.getContextManager().isContextActive()) {
+		if (!enabled) {
+			return;
+		}
+		String contextHandle = getActiveContextHandle();
+		if (contextHandle == null) {
 			return;
 		}
 		if (event.getType() != IResourceChangeEvent.POST_CHANGE) {
@@ -201,17 +200,26 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 		}
 		IResourceDelta rootDelta = event.getDelta();
 		if (rootDelta != null) {
-			ResourceDeltaVisitor visitor = new ResourceDeltaVisitor(exclusions);
+			// make sure that the exclusions are updated before containers are pruned
+			for (IResourceExclusionStrategy exclusion : exclusions) {
+				exclusion.update();
+			}
+			ResourceDeltaVisitor visitor = new ResourceDeltaVisitor();
 			try {
 				rootDelta.accept(visitor, IContainer.INCLUDE_TEAM_PRIVATE_MEMBERS | IContainer.INCLUDE_HIDDEN);
-				if (visitor.hasValidResult()) {
-					// discard large changes as to not pollute the task context
-					if (visitor.getNumChangedAndAddedFiles() <= MAX_FILE_DELTA_SIZE
-							&& visitor.getNumAddedFolders() <= MAX_NEW_FOLDER_DELTA_SIZE) {
-						ResourcesUi.addResourceToContext(visitor.getChangedResources(),
-								InteractionEvent.Kind.PREDICTION);
-						ResourcesUi.addResourceToContext(visitor.getAddedResources(), InteractionEvent.Kind.PROPAGATION);
+				if (visitor.hasValidResult()
+						&& (!visitor.getChangedResources().isEmpty() || !visitor.getAddedResources().isEmpty())) {
+					synchronized (this) {
+						if (!contextHandle.equals(pendingContextHandle)) {
+							// changes of a previously active context are not added to this context
+							pendingChangedResources.clear();
+							pendingAddedResources.clear();
+							pendingContextHandle = contextHandle;
+						}
+						pendingChangedResources.addAll(visitor.getChangedResources());
+						pendingAddedResources.addAll(visitor.getAddedResources());
 					}
+					processJob.schedule(PROCESS_DELAY);
 				}
 			} catch (CoreException e) {
 				StatusHandler.log(new Status(IStatus.ERROR, ResourcesUiBridgePlugin.ID_PLUGIN,
@@ -220,6 +228,106 @@ public class ResourceChangeMonitor implements IResourceChangeListener {
 		}
 	}
 
+	/**
+	 * Adds resources of pending changes to the context. Invoked by a background job, public for testing.
+	 */
+	public void flush() {
+		processPendingChanges(new NullProgressMonitor());
+	}
+
+	private void processPendingChanges(IProgressMonitor monitor) {
+		Set<IResource> changedResources;
+		Set<IResource> addedResources;
+		String contextHandle;
+		synchronized (this) {
+			changedResources = pendingChangedResources;
+			addedResources = pendingAddedResources;
+			contextHandle = pendingContextHandle;
+			pendingChangedResources = new LinkedHashSet<IResource>();
+			pendingAddedResources = new LinkedHashSet<IResource>();
+			pendingContextHandle = null;
+		}
+		if ((changedResources.isEmpty() && addedResources.isEmpty()) || contextHandle == null
+				|| !contextHandle.equals(getActiveContextHandle())) {
+			// the context that was active when the changes were recorded has been deactivated
+			return;
+		}
+
+		monitor.beginTask("", changedResources.size() + addedResources.size()); //$NON-NLS-1$
+		try {
+			Map<IContainer, Boolean> excludedContainers = new HashMap<IContainer, Boolean>();
+			Set<IResource> interestingChangedResources = filterExcluded(changedResources, excludedContainers, monitor);
+			Set<IResource> interestingAddedResources = filterExcluded(addedResources, excludedContainers, monitor);
+			if (interestingChangedResources != null && interestingAddedResources != null) {
+				ResourcesUi.addResourceToContext(interestingChangedResources, InteractionEvent.Kind.PREDICTION);
+				ResourcesUi.addResourceToContext(interestingAddedResources, InteractionEvent.Kind.PROPAGATION);
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Returns the resources that are not excluded, or null if <code>monitor</code> was canceled.
+	 */
+	private Set<IResource> filterExcluded(Set<IResource> resources, Map<IContainer, Boolean> excludedContainers,
+			IProgressMonitor monitor) {
+		Set<IResource> result = new LinkedHashSet<IResource>();
+		int count = 0;
+		for (IResource resource : resources) {
+			if (!isExcluded(resource, excludedContainers)) {
+				result.add(resource);
+			}
+			if (++count % CHUNK_SIZE == 0) {
+				if (monitor.isCanceled()) {
+					return null;
+				}
+				monitor.worked(CHUNK_SIZE);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * A resource is excluded if it or any of its parents is excluded.
+	 */
+	private boolean isExcluded(IResource resource, Map<IContainer, Boolean> excludedContainers) {
+		IContainer parent = resource.getParent();
+		if (parent != null && isExcludedContainer(parent, excludedContainers)) {
+			return true;
+		}
+		return isExcluded(resource);
+	}
+
+	private boolean isExcludedContainer(IContainer container, Map<IContainer, Boolean> excludedContainers) {
+		Boolean excluded = excludedContainers.get(container);
+		if (excluded == null) {
+			IContainer parent = container.getParent();
+			excluded = (parent != null && isExcludedContainer(parent, excludedContainers)) || isExcluded(container);
+			excludedContainers.put(container, excluded);
+		}
+		return excluded;
+	}
+
+	private boolean isExcluded(IResource resource) {
+		for (IResourceExclusionStrategy exclusion : exclusions) {
+			if (exclusion.isExcluded(resource)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the handle of the active context, or null if no or more than one context is active.
+	 */
+	private String getActiveContextHandle() {
+		if (!ContextCore.getContextManager().isContextActive()) {
+			return null;
+		}
+		return ContextCore.getContextManager().getActiveContext().getHandleIdentifier();
+	}
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -12,12 +12,15 @@
 package org.eclipse.mylyn.internal.resources.ui;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.context.core.AbstractContextStructureBridge;
 import org.eclipse.mylyn.context.core.ContextCore;
@@ -37,22 +40,81 @@ public class ResourceInterestUpdater {
 	 */
 	public static final String SOURCE_ID = "org.eclipse.mylyn.resources.ui.interest.updater"; //$NON-NLS-1$
 
+	private static final long UPDATE_DELAY = 100;
+
+	private static class PendingUpdate {
+
+		private final String contextHandle;
+
+		private final Set<IResource> resources;
+
+		private final InteractionEvent.Kind interactionKind;
+
+		public PendingUpdate(String contextHandle, Set<IResource> resources, InteractionEvent.Kind interactionKind) {
+			this.contextHandle = contextHandle;
+			this.resources = resources;
+			this.interactionKind = interactionKind;
+		}
+
+	}
+
 	private boolean syncExec = false;
 
+	/**
+	 * Requests that have not been added to the context yet. Requests are kept separately to add an interaction event
+	 * for every request, as if it was processed immediately.
+	 */
+	private final List<PendingUpdate> pendingUpdates = new ArrayList<PendingUpdate>();
+
+	private int dispatchCount;
+
+	private final Job updateJob = new Job("Update Resource Interest") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<PendingUpdate> updates;
+			synchronized (pendingUpdates) {
+				updates = new ArrayList<PendingUpdate>(pendingUpdates);
+				pendingUpdates.clear();
+			}
+			String contextHandle = getActiveContextHandle();
+			List<InteractionEvent> interactionEvents = new ArrayList<InteractionEvent>();
+			for (PendingUpdate update : updates) {
+				// discard requests for contexts that have been deactivated
+				if (update.contextHandle.equals(contextHandle)) {
+					addInteractionEvents(interactionEvents, update.resources, update.interactionKind);
+				}
+			}
+			if (!interactionEvents.isEmpty()) {
+				dispatch(contextHandle, interactionEvents);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public ResourceInterestUpdater() {
+		updateJob.setSystem(true);
+	}
+
+	@SuppressWarnings("restriction")
 	public void addResourceToContext(final Set<IResource> resources, final InteractionEvent.Kind interactionKind) {
 		try {
 			if (!resources.isEmpty()) {
 				if (syncExec) {
-					internalAddResourceToContext(resources, interactionKind);
+					List<InteractionEvent> interactionEvents = new ArrayList<InteractionEvent>();
+					addInteractionEvents(interactionEvents, resources, interactionKind);
+					ContextCorePlugin.getContextManager().processInteractionEvents(interactionEvents, true);
 				} else {
-					final IWorkbench workbench = PlatformUI.getWorkbench();
-					if (!workbench.isClosing() && !workbench.getDisplay().isDisposed()) {
-						workbench.getDisplay().asyncExec(new Runnable() {
-							public void run() {
-								internalAddResourceToContext(resources, interactionKind);
-							}
-						});
+					// the resources are only added to the context that is active at the time of the request
+					String contextHandle = getActiveContextHandle();
+					if (contextHandle == null) {
+						return;
+					}
+					synchronized (pendingUpdates) {
+						pendingUpdates.add(new PendingUpdate(contextHandle, new LinkedHashSet<IResource>(resources),
+								interactionKind));
 					}
+					// requests that arrive before the job runs are processed together
+					updateJob.schedule(UPDATE_DELAY);
 				}
 			}
 		} catch (Throwable t) {
@@ -61,9 +123,39 @@ public class ResourceInterestUpdater {
 		}
 	}
 
+	/**
+	 * Context listeners expect to be notified on the UI thread, hence all pending events are processed by a single
+	 * runnable. The events are discarded if the context with <code>contextHandle</code> is no longer active.
+	 */
 	@SuppressWarnings("restriction")
-	private void internalAddResourceToContext(Set<IResource> resources, InteractionEvent.Kind interactionKind) {
-		List<InteractionEvent> interactionEvents = new ArrayList<InteractionEvent>();
+	private void dispatch(final String contextHandle, final List<InteractionEvent> interactionEvents) {
+		final IWorkbench workbench = PlatformUI.getWorkbench();
+		if (!workbench.isClosing() && !workbench.getDisplay().isDisposed()) {
+			synchronized (pendingUpdates) {
+				dispatchCount++;
+			}
+			workbench.getDisplay().asyncExec(new Runnable() {
+				public void run() {
+					if (contextHandle.equals(getActiveContextHandle())) {
+						ContextCorePlugin.getContextManager().processInteractionEvents(interactionEvents, true);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the handle of the active context, or null if no or more than one context is active.
+	 */
+	private String getActiveContextHandle() {
+		if (!ContextCore.getContextManager().isContextActive()) {
+			return null;
+		}
+		return ContextCore.getContextManager().getActiveContext().getHandleIdentifier();
+	}
+
+	private void addInteractionEvents(List<InteractionEvent> interactionEvents, Set<IResource> resources,
+			InteractionEvent.Kind interactionKind) {
 		for (IResource resource : resources) {
 			if (acceptResource(resource)) {
 				AbstractContextStructureBridge bridge = ContextCore.getStructureBridge(resource);
@@ -78,12 +170,6 @@ public class ResourceInterestUpdater {
 				}
 			}
 		}
-		ContextCorePlugin.getContextManager().processInteractionEvents(interactionEvents, true);
-//		if (InteractionEvent.Kind.SELECTION.equals(interactionKind)) {
-//		ContextCorePlugin.getContextManager().processInteractionEvents(interactionEvents, true);
-//		} else {
-//			ContextCorePlugin.getContextManager().processInteractionEvents(interactionEvents, false);
-//		}
 	}
 
 	private boolean acceptResource(IResource resource) {
@@ -99,4 +185,13 @@ public class ResourceInterestUpdater {
 	public void setSyncExec(boolean syncExec) {
 		this.syncExec = syncExec;
 	}
+
+	/**
+	 * Returns the number of runnables that were posted to the UI thread. For testing.
+	 */
+	public int getDispatchCount() {
+		synchronized (pendingUpdates) {
+			return dispatchCount;
+		}
+	}
 }
@@ -31,7 +31,7 @@ import org.eclipse.mylyn.context.core.ContextCore;
 public class ResourceModifiedDateExclusionStrategy extends AbstractContextListener implements
 		IResourceExclusionStrategy, IPropertyChangeListener, IOperationHistoryListener {
 
-	private transient Date lastActivatedDate = null;
+	private transient volatile Date lastActivatedDate = null;
 
 	private boolean isEnabled = false;
 
@@ -78,13 +78,11 @@ public class ResourceModifiedDateExclusionStrategy extends AbstractContextListen
 		if (date == null) {
 			return false;
 		}
+		// the stamp is kept in the workspace tree, retrieving it does not access the file system
 		long modificationStamp = resource.getLocalTimeStamp();
 		if (modificationStamp > 0 && modificationStamp != IResource.NULL_STAMP) {
-			Date resourceDate = new Date(modificationStamp);
-			return resourceDate.equals(date) || resourceDate.after(date);
-		} else {
+			return modificationStamp >= date.getTime();
 		}
-
 		return false;
 	}
 
@@ -11,11 +11,11 @@
 
 package org.eclipse.mylyn.internal.resources.ui;
 
+import java.net.URI;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
-import org.apache.tools.ant.types.selectors.SelectorUtils;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 
@@ -28,7 +28,9 @@ public class ResourcePatternExclusionStrategy implements IResourceExclusionStrat
 
 	private static final String LEADING_PATH_WILDCARD = "**/"; //$NON-NLS-1$
 
-	private Set<String> excludedPatterns = new HashSet<String>();;
+	private Set<String> excludedPatterns = new HashSet<String>();
+
+	private volatile ResourcePatternMatcher matcher = new ResourcePatternMatcher(excludedPatterns);
 
 	public void init() {
 		// ignore
@@ -48,11 +50,27 @@ public class ResourcePatternExclusionStrategy implements IResourceExclusionStrat
 			}
 		}
 
-		this.excludedPatterns = excludedPatterns;
+		// only recompile if the patterns have changed
+		if (!excludedPatterns.equals(this.excludedPatterns)) {
+			this.excludedPatterns = excludedPatterns;
+			this.matcher = new ResourcePatternMatcher(excludedPatterns);
+		}
 	}
 
 	public boolean isExcluded(IResource resource) {
-		return isExcluded(resource.getProjectRelativePath(), resource, excludedPatterns);
+		if (resource.isDerived()) {
+			return true;
+		}
+		ResourcePatternMatcher matcher = this.matcher;
+		if (matcher.matchesUri(getLocationUri(resource))) {
+			return true;
+		}
+		return matcher.matches(resource.getProjectRelativePath().toPortableString());
+	}
+
+	private static String getLocationUri(IResource resource) {
+		URI uri = resource.getLocationURI();
+		return (uri != null) ? uri.toString() : null;
 	}
 
 	/**
@@ -65,19 +83,11 @@ public class ResourcePatternExclusionStrategy implements IResourceExclusionStrat
 		if (resource != null && resource.isDerived()) {
 			return true;
 		}
-
-		String pathString = path.toPortableString();
-		for (String pattern : excludedPatterns) {
-
-			if (resource != null
-					&& pattern.startsWith("file:/") && isUriExcluded(resource.getLocationURI().toString(), pattern)) { //$NON-NLS-1$
-				return true;
-			} else if (SelectorUtils.matchPath(pattern, pathString, false)
-					|| SelectorUtils.match(pattern, pathString, false)) {
-				return true;
-			}
+		ResourcePatternMatcher matcher = new ResourcePatternMatcher(excludedPatterns);
+		if (resource != null && matcher.matchesUri(getLocationUri(resource))) {
+			return true;
 		}
-		return false;
+		return matcher.matches(path.toPortableString());
 	}
 
 	/**
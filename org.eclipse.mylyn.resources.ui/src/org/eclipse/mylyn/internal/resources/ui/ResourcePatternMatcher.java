@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.resources.ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches project relative paths against a set of Ant patterns. A path is matched if any pattern matches it as a path
+ * (<code>SelectorUtils.matchPath()</code>) or as a string (<code>SelectorUtils.match()</code>), ignoring case.
+ * <p>
+ * Patterns are compiled into a trie of path segments that is traversed once for all patterns. Patterns that are only
+ * matched as strings are indexed by their literal prefix or suffix. Recent results are cached.
+ */
+public class ResourcePatternMatcher {
+
+	private static final String DEEP_TREE_MATCH = "**"; //$NON-NLS-1$
+
+	private static final String URI_PREFIX = "file:/"; //$NON-NLS-1$
+
+	private static final int MAX_CACHED_PATHS = 1000;
+
+	private static class SegmentNode {
+
+		private final Map<String, SegmentNode> literalChildren = new HashMap<String, SegmentNode>();
+
+		private final List<SegmentNode> globChildren = new ArrayList<SegmentNode>();
+
+		private SegmentNode deepChild;
+
+		/** The pattern of the segment matched by this node, or null for the root and literal segments. */
+		private final char[] glob;
+
+		/** True, if this node matches any number of segments. */
+		private final boolean deep;
+
+		private boolean terminal;
+
+		public SegmentNode(char[] glob, boolean deep) {
+			this.glob = glob;
+			this.deep = deep;
+		}
+
+	}
+
+	private static class CharNode {
+
+		private final Map<Character, CharNode> children = new HashMap<Character, CharNode>();
+
+		private final List<char[]> globs = new ArrayList<char[]>();
+
+	}
+
+	private final SegmentNode root = new SegmentNode(null, false);
+
+	private final Set<String> literalPatterns = new HashSet<String>();
+
+	/** Patterns that end with a literal, indexed by the reversed literal. */
+	private final CharNode suffixRoot = new CharNode();
+
+	/** Patterns that start with a literal, indexed by the literal. */
+	private final CharNode prefixRoot = new CharNode();
+
+	private final List<char[]> unanchoredGlobs = new ArrayList<char[]>();
+
+	private final List<String> uriPatterns = new ArrayList<String>();
+
+	private final Map<String, Boolean> cache = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16,
+			0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > MAX_CACHED_PATHS;
+		}
+	});
+
+	public ResourcePatternMatcher(Collection<String> patterns) {
+		for (String pattern : patterns) {
+			if (pattern == null || pattern.length() == 0) {
+				continue;
+			}
+			if (pattern.startsWith(URI_PREFIX)) {
+				uriPatterns.add(pattern);
+			}
+			String upperPattern = toUpperCase(pattern);
+			addPathPattern(upperPattern);
+			if (!isMatchedAsPath(upperPattern)) {
+				addStringPattern(upperPattern);
+			}
+		}
+	}
+
+	/**
+	 * Returns true, if <code>path</code> is matched by any pattern. Paths are expected to be relative and separated by
+	 * <code>/</code>.
+	 */
+	public boolean matches(String path) {
+		Boolean result = cache.get(path);
+		if (result == null) {
+			String upperPath = toUpperCase(path);
+			result = matchesPath(upperPath) || matchesString(upperPath);
+			cache.put(path, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true, if <code>uri</code> starts with any pattern that specifies a location.
+	 */
+	public boolean matchesUri(String uri) {
+		if (uri != null) {
+			for (String pattern : uriPatterns) {
+				if (uri.startsWith(pattern)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void addPathPattern(String pattern) {
+		if (pattern.startsWith("/")) { //$NON-NLS-1$
+			// absolute patterns never match a relative path
+			return;
+		}
+		SegmentNode node = root;
+		for (String segment : tokenize(pattern)) {
+			if (DEEP_TREE_MATCH.equals(segment)) {
+				if (node.deepChild == null) {
+					node.deepChild = new SegmentNode(null, true);
+				}
+				node = node.deepChild;
+			} else if (!hasWildcard(segment)) {
+				SegmentNode child = node.literalChildren.get(segment);
+				if (child == null) {
+					child = new SegmentNode(null, false);
+					node.literalChildren.put(segment, child);
+				}
+				node = child;
+			} else {
+				SegmentNode child = null;
+				for (SegmentNode globChild : node.globChildren) {
+					if (segment.equals(new String(globChild.glob))) {
+						child = globChild;
+						break;
+					}
+				}
+				if (child == null) {
+					child = new SegmentNode(segment.toCharArray(), false);
+					node.globChildren.add(child);
+				}
+				node = child;
+			}
+		}
+		node.terminal = true;
+	}
+
+	private void addStringPattern(String pattern) {
+		int first = firstWildcard(pattern);
+		if (first == -1) {
+			literalPatterns.add(pattern);
+			return;
+		}
+		int last = lastWildcard(pattern);
+		char[] glob = pattern.toCharArray();
+		if (last < pattern.length() - 1) {
+			CharNode node = suffixRoot;
+			for (int i = pattern.length() - 1; i > last; i--) {
+				node = getChild(node, pattern.charAt(i));
+			}
+			node.globs.add(glob);
+		} else if (first > 0) {
+			CharNode node = prefixRoot;
+			for (int i = 0; i < first; i++) {
+				node = getChild(node, pattern.charAt(i));
+			}
+			node.globs.add(glob);
+		} else {
+			unanchoredGlobs.add(glob);
+		}
+	}
+
+	private CharNode getChild(CharNode node, char c) {
+		CharNode child = node.children.get(c);
+		if (child == null) {
+			child = new CharNode();
+			node.children.put(c, child);
+		}
+		return child;
+	}
+
+	/**
+	 * Returns true, if every match of <code>pattern</code> as a string is also a match as a path. This is the case if
+	 * each segment is either <code>**</code> or a literal, since literals then always span entire segments of a
+	 * relative path.
+	 */
+	private boolean isMatchedAsPath(String pattern) {
+		for (String segment : pattern.split("/", -1)) { //$NON-NLS-1$
+			if (segment.length() == 0 || (!DEEP_TREE_MATCH.equals(segment) && hasWildcard(segment))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean matchesPath(String path) {
+		Set<SegmentNode> states = new HashSet<SegmentNode>();
+		addState(states, root);
+		for (String segment : tokenize(path)) {
+			Set<SegmentNode> nextStates = new HashSet<SegmentNode>();
+			for (SegmentNode node : states) {
+				if (node.deep) {
+					if (node.terminal) {
+						// remaining segments are matched by a trailing **
+						return true;
+					}
+					addState(nextStates, node);
+				}
+				SegmentNode child = node.literalChildren.get(segment);
+				if (child != null) {
+					addState(nextStates, child);
+				}
+				for (SegmentNode globChild : node.globChildren) {
+					if (matchGlob(globChild.glob, segment)) {
+						addState(nextStates, globChild);
+					}
+				}
+			}
+			if (nextStates.isEmpty()) {
+				return false;
+			}
+			states = nextStates;
+		}
+		for (SegmentNode node : states) {
+			if (node.terminal) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addState(Set<SegmentNode> states, SegmentNode node) {
+		// a ** may also match no segment
+		if (states.add(node) && node.deepChild != null) {
+			addState(states, node.deepChild);
+		}
+	}
+
+	private boolean matchesString(String path) {
+		if (literalPatterns.contains(path)) {
+			return true;
+		}
+		CharNode node = suffixRoot;
+		for (int i = path.length() - 1; i >= 0 && node != null; i--) {
+			node = node.children.get(path.charAt(i));
+			if (node != null && matchesAny(node.globs, path)) {
+				return true;
+			}
+		}
+		node = prefixRoot;
+		for (int i = 0; i < path.length() && node != null; i++) {
+			node = node.children.get(path.charAt(i));
+			if (node != null && matchesAny(node.globs, path)) {
+				return true;
+			}
+		}
+		return matchesAny(unanchoredGlobs, path);
+	}
+
+	private boolean matchesAny(List<char[]> globs, String value) {
+		for (char[] glob : globs) {
+			if (matchGlob(glob, value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Matches <code>value</code> against <code>glob</code> where <code>*</code> matches any number of characters and
+	 * <code>?</code> matches a single character.
+	 */
+	private static boolean matchGlob(char[] glob, String value) {
+		int g = 0;
+		int v = 0;
+		int starGlob = -1;
+		int starValue = 0;
+		while (v < value.length()) {
+			if (g < glob.length && (glob[g] == '?' || glob[g] == value.charAt(v))) {
+				g++;
+				v++;
+			} else if (g < glob.length && glob[g] == '*') {
+				starGlob = g++;
+				starValue = v;
+			} else if (starGlob != -1) {
+				// let the last * consume one more character
+				g = starGlob + 1;
+				v = ++starValue;
+			} else {
+				return false;
+			}
+		}
+		while (g < glob.length && glob[g] == '*') {
+			g++;
+		}
+		return g == glob.length;
+	}
+
+	private static List<String> tokenize(String path) {
+		List<String> segments = new ArrayList<String>();
+		int start = 0;
+		for (int i = 0; i <= path.length(); i++) {
+			if (i == path.length() || path.charAt(i) == '/') {
+				if (i > start) {
+					segments.add(path.substring(start, i));
+				}
+				start = i + 1;
+			}
+		}
+		return segments;
+	}
+
+	private static boolean hasWildcard(String value) {
+		return firstWildcard(value) != -1;
+	}
+
+	private static int firstWildcard(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) == '*' || value.charAt(i) == '?') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int lastWildcard(String value) {
+		for (int i = value.length() - 1; i >= 0; i--) {
+			if (value.charAt(i) == '*' || value.charAt(i) == '?') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Converts characters individually to be consistent with the case insensitive comparison of Ant.
+	 */
+	private static String toUpperCase(String value) {
+		char[] chars = value.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toUpperCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+}
@@ -11,6 +11,7 @@
 
 package org.eclipse.mylyn.team.tests;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.resources.IFile;
@@ -27,6 +28,8 @@ import org.eclipse.mylyn.internal.tasks.core.LocalTask;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.internal.team.ui.ContextActiveChangeSetManager;
 import org.eclipse.mylyn.internal.team.ui.FocusedTeamUiPlugin;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.team.ui.AbstractActiveChangeSetProvider;
 import org.eclipse.mylyn.team.ui.IContextChangeSet;
 import org.eclipse.team.internal.ccvs.ui.CVSUIPlugin;
 import org.eclipse.team.internal.core.subscribers.ActiveChangeSet;
@@ -135,4 +138,43 @@ public class ChangeSetManagerTest extends AbstractResourceContextTest {
 
 		TasksUiPlugin.getTaskActivityManager().deactivateTask(task1);
 	}
+
+	public void testLookupWithManySets() {
+		AbstractActiveChangeSetProvider provider = FocusedTeamUiPlugin.getDefault().getActiveChangeSetProvider(
+				collector);
+		List<ITask> tasks = new ArrayList<ITask>();
+		List<ActiveChangeSet> sets = new ArrayList<ActiveChangeSet>();
+		try {
+			addLookupSets(provider, tasks, sets, 500);
+			// sets that exist when the manager is enabled are indexed as well as sets that are added later
+			changeSetManager.disable();
+			changeSetManager.enable();
+			addLookupSets(provider, tasks, sets, 1000);
+
+			int scanCount = changeSetManager.getSetScanCount();
+			for (ITask task : tasks) {
+				assertNotNull(task.getHandleIdentifier(), changeSetManager.getResources(task));
+			}
+			assertEquals(scanCount, changeSetManager.getSetScanCount());
+
+			collector.remove(sets.get(0));
+			assertNull(changeSetManager.getResources(tasks.get(0)));
+		} finally {
+			for (ActiveChangeSet set : sets) {
+				collector.remove(set);
+			}
+		}
+	}
+
+	private void addLookupSets(AbstractActiveChangeSetProvider provider, List<ITask> tasks, List<ActiveChangeSet> sets,
+			int count) {
+		for (int i = tasks.size(); i < count; i++) {
+			ITask task = new LocalTask("lookup" + i, "label");
+			ActiveChangeSet set = (ActiveChangeSet) provider.createChangeSet(task);
+			collector.add(set);
+			tasks.add(task);
+			sets.add(set);
+		}
+	}
+
 }
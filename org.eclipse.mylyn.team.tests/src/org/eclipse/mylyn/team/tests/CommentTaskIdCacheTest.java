@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.team.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.team.ui.CommentTaskIdCache;
+import org.eclipse.mylyn.internal.team.ui.CommentTaskIdCache.Match;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+
+public class CommentTaskIdCacheTest extends TestCase {
+
+	private static class CountingConnector extends MockRepositoryConnector {
+
+		private int searchCount;
+
+		@Override
+		public String[] getTaskIdsFromComment(TaskRepository repository, String comment) {
+			searchCount++;
+			int i = comment.indexOf('#');
+			return (i != -1) ? new String[] { comment.substring(i + 1) } : null;
+		}
+
+	}
+
+	private TaskRepositoryManager repositoryManager;
+
+	private CountingConnector connector;
+
+	private TaskRepository repository;
+
+	private CommentTaskIdCache cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		repositoryManager = new TaskRepositoryManager();
+		connector = new CountingConnector();
+		repositoryManager.addRepositoryConnector(connector);
+		repository = new TaskRepository(connector.getConnectorKind(), MockRepositoryConnector.REPOSITORY_URL);
+		repositoryManager.addRepository(repository);
+		cache = new CommentTaskIdCache(repositoryManager);
+		repositoryManager.addListener(cache);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		repositoryManager.removeListener(cache);
+	}
+
+	public void testGetMatch() {
+		Match match = cache.getMatch(null, null, "fixed #123");
+		assertNotNull(match);
+		assertEquals("123", match.getTaskId());
+		assertEquals(repository.getRepositoryUrl(), match.getRepositoryUrl());
+		assertEquals(connector.getConnectorKind(), match.getConnectorKind());
+
+		assertNull(cache.getMatch(null, null, "no task"));
+		assertNull(cache.getMatch(null, null, "no task"));
+		assertEquals(2, connector.searchCount);
+	}
+
+	public void testDistinctCommentsSearchedOnce() {
+		for (int i = 0; i < 10000; i++) {
+			Match match = cache.getMatch(null, null, "commit #" + (i % 100));
+			assertEquals(String.valueOf(i % 100), match.getTaskId());
+		}
+		assertEquals(100, connector.searchCount);
+	}
+
+	public void testRepositoryChangeClearsCache() {
+		cache.getMatch(null, null, "fixed #123");
+		cache.getMatch(null, null, "fixed #123");
+		assertEquals(1, connector.searchCount);
+
+		repositoryManager.addRepository(new TaskRepository(connector.getConnectorKind(), "http://other.test"));
+		cache.getMatch(null, null, "fixed #123");
+		assertEquals(2, connector.searchCount);
+	}
+
+	public void testSearchLimitedToRepository() {
+		TaskRepository otherRepository = new TaskRepository(connector.getConnectorKind(), "http://other.test");
+		repositoryManager.addRepository(otherRepository);
+
+		Match match = cache.getMatch(connector, otherRepository, "fixed #123");
+		assertEquals("http://other.test", match.getRepositoryUrl());
+		match = cache.getMatch(connector, repository, "fixed #123");
+		assertEquals(repository.getRepositoryUrl(), match.getRepositoryUrl());
+		assertEquals(2, connector.searchCount);
+	}
+
+}
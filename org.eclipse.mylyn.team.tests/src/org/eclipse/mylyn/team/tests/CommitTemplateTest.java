@@ -129,6 +129,25 @@ public class CommitTemplateTest extends TestCase {
 				manager.generateComment(testTask, "${task.status} ${noexist( \"x\" )} ${task.description}"));
 	}
 
+	public void testTemplateEvaluatedForEachTask() {
+		CommitTemplateManager manager = FocusedTeamUiPlugin.getDefault().getCommitTemplateManager();
+		String template = "${task.key}: ${task.description} ${TestVar(\"ABC\")}";
+
+		TaskTask task1 = new TaskTask("no url", "1", "summary");
+		task1.setTaskKey("1");
+		task1.setSummary("First");
+		TaskTask task2 = new TaskTask("no url", "2", "summary");
+		task2.setTaskKey("2");
+		task2.setSummary("Second");
+
+		assertEquals("1: First ABC", manager.generateComment(task1, template));
+		assertEquals("2: Second ABC", manager.generateComment(task2, template));
+		assertEquals("1: First ABC", manager.generateComment(task1, template));
+
+		task1.setSummary("Changed");
+		assertEquals("1: Changed ABC", manager.generateComment(task1, template));
+	}
+
 	private TaskTask createTask() {
 		String taskId = "12345678";
 		TaskTask testTask = new TaskTask("no url", taskId, "summary");
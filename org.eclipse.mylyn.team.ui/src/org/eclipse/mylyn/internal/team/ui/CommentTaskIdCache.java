@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.team.ui;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.IRepositoryListener;
+import org.eclipse.mylyn.tasks.core.IRepositoryManager;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+
+/**
+ * Caches the task ids that connectors extract from commit comments. Results are keyed by the comment and the connector
+ * and repository the search was limited to, and are discarded when repositories are added, removed or changed.
+ */
+public class CommentTaskIdCache implements IRepositoryListener {
+
+	private static final int MAX_CACHED_COMMENTS = 10000;
+
+	/**
+	 * A task id and the repository it was found for.
+	 */
+	public static class Match {
+
+		private final String connectorKind;
+
+		private final String repositoryUrl;
+
+		private final String taskId;
+
+		public Match(String connectorKind, String repositoryUrl, String taskId) {
+			this.connectorKind = connectorKind;
+			this.repositoryUrl = repositoryUrl;
+			this.taskId = taskId;
+		}
+
+		public String getConnectorKind() {
+			return connectorKind;
+		}
+
+		public String getRepositoryUrl() {
+			return repositoryUrl;
+		}
+
+		public String getTaskId() {
+			return taskId;
+		}
+
+	}
+
+	private static final Match NO_MATCH = new Match(null, null, null);
+
+	private final IRepositoryManager repositoryManager;
+
+	private final Map<String, Match> cache = new LinkedHashMap<String, Match>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Match> eldest) {
+			return size() > MAX_CACHED_COMMENTS;
+		}
+	};
+
+	/** Incremented when the repository configuration changes to discard results that are computed concurrently. */
+	private int version;
+
+	public CommentTaskIdCache(IRepositoryManager repositoryManager) {
+		this.repositoryManager = repositoryManager;
+	}
+
+	/**
+	 * Returns the first task id that a connector finds in <code>comment</code> or null, if no connector recognizes a
+	 * task id. If <code>connector</code> or <code>repository</code> is not null the search is limited to it.
+	 */
+	public Match getMatch(AbstractRepositoryConnector connector, TaskRepository repository, String comment) {
+		String key = getKey(connector, repository, comment);
+		int searchVersion;
+		synchronized (cache) {
+			Match match = cache.get(key);
+			if (match != null) {
+				return (match != NO_MATCH) ? match : null;
+			}
+			searchVersion = version;
+		}
+
+		Match match = search(connector, repository, comment);
+
+		synchronized (cache) {
+			if (searchVersion == version) {
+				cache.put(key, (match != null) ? match : NO_MATCH);
+			}
+		}
+		return match;
+	}
+
+	private Match search(AbstractRepositoryConnector connector, TaskRepository repository, String comment) {
+		Collection<AbstractRepositoryConnector> connectors = connector != null
+				? Collections.singletonList(connector)
+				: repositoryManager.getRepositoryConnectors();
+		for (AbstractRepositoryConnector c : connectors) {
+			Collection<TaskRepository> repositories = repository != null
+					? Collections.singletonList(repository)
+					: repositoryManager.getRepositories(c.getConnectorKind());
+			for (TaskRepository r : repositories) {
+				String[] ids = c.getTaskIdsFromComment(r, comment);
+				if (ids != null && ids.length > 0) {
+					return new Match(c.getConnectorKind(), r.getRepositoryUrl(), ids[0]);
+				}
+			}
+		}
+		return null;
+	}
+
+	private String getKey(AbstractRepositoryConnector connector, TaskRepository repository, String comment) {
+		StringBuilder sb = new StringBuilder();
+		if (connector != null) {
+			sb.append(connector.getConnectorKind());
+		}
+		sb.append('\n');
+		if (repository != null) {
+			sb.append(repository.getRepositoryUrl());
+		}
+		sb.append('\n');
+		sb.append(comment);
+		return sb.toString();
+	}
+
+	public void clear() {
+		synchronized (cache) {
+			version++;
+			cache.clear();
+		}
+	}
+
+	public void repositoryAdded(TaskRepository repository) {
+		clear();
+	}
+
+	public void repositoryRemoved(TaskRepository repository) {
+		clear();
+	}
+
+	public void repositorySettingsChanged(TaskRepository repository) {
+		clear();
+	}
+
+	public void repositoryUrlChanged(TaskRepository repository, String oldUrl) {
+		clear();
+	}
+
+}
@@ -47,6 +47,14 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 
 	private final Map<ActiveChangeSetManager, ChangeSetChangeListener> listenerByManager = new HashMap<ActiveChangeSetManager, ChangeSetChangeListener>();
 
+	/**
+	 * Indexes the context change sets of each manager by the handle of their task. Only maintained for managers that
+	 * have a {@link ChangeSetChangeListener} attached, i.e. while this manager is enabled.
+	 */
+	private final Map<ActiveChangeSetManager, Map<String, IContextChangeSet>> setsByTaskHandle = new HashMap<ActiveChangeSetManager, Map<String, IContextChangeSet>>();
+
+	private int setScanCount;
+
 	/**
 	 * Used to restore change sets managed with task context when platform deletes them, bug 168129
 	 */
@@ -61,6 +69,7 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 		public void setRemoved(ChangeSet set) {
 			if (set instanceof IContextChangeSet) {
 				IContextChangeSet contextChangeSet = (IContextChangeSet) set;
+				unindex(manager, contextChangeSet);
 				// never matches the noTask change set: its task is never active
 				if (contextChangeSet.getTask() != null && contextChangeSet.getTask().isActive()) {
 					// put it back
@@ -70,7 +79,9 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 		}
 
 		public void setAdded(ChangeSet set) {
-			// ignore
+			if (set instanceof IContextChangeSet) {
+				index(manager, (IContextChangeSet) set);
+			}
 		}
 
 		public void defaultSetChanged(ChangeSet previousDefault, ChangeSet set) {
@@ -101,18 +112,84 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 	@Override
 	protected void updateChangeSetLabel(ITask task) {
 		for (ActiveChangeSetManager collector : changeSetManagers) {
-			ChangeSet[] sets = collector.getSets();
-			for (ChangeSet set : sets) {
-				if (set instanceof IContextChangeSet) {
-					IContextChangeSet contextChangeSet = (IContextChangeSet) set;
-					if (contextChangeSet.getTask().equals(task)) {
-						contextChangeSet.updateLabel();
+			IContextChangeSet contextChangeSet = getSet(collector, task);
+			if (contextChangeSet != null) {
+				contextChangeSet.updateLabel();
+			}
+		}
+	}
+
+	private void index(ActiveChangeSetManager manager, IContextChangeSet set) {
+		if (set.getTask() != null) {
+			synchronized (setsByTaskHandle) {
+				Map<String, IContextChangeSet> sets = setsByTaskHandle.get(manager);
+				if (sets != null) {
+					sets.put(set.getTask().getHandleIdentifier(), set);
+				}
+			}
+		}
+	}
+
+	private void unindex(ActiveChangeSetManager manager, IContextChangeSet set) {
+		if (set.getTask() != null) {
+			synchronized (setsByTaskHandle) {
+				Map<String, IContextChangeSet> sets = setsByTaskHandle.get(manager);
+				if (sets != null && sets.get(set.getTask().getHandleIdentifier()) == set) {
+					sets.remove(set.getTask().getHandleIdentifier());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the existing change sets of <code>manager</code> to the index. Sets that have been indexed by the listener in
+	 * the meantime take precedence.
+	 */
+	private void populateIndex(ActiveChangeSetManager manager) {
+		for (ChangeSet set : manager.getSets()) {
+			if (set instanceof IContextChangeSet && ((IContextChangeSet) set).getTask() != null) {
+				String handle = ((IContextChangeSet) set).getTask().getHandleIdentifier();
+				synchronized (setsByTaskHandle) {
+					Map<String, IContextChangeSet> sets = setsByTaskHandle.get(manager);
+					if (sets != null && !sets.containsKey(handle)) {
+						sets.put(handle, (IContextChangeSet) set);
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Returns the context change set of <code>task</code> managed by <code>manager</code> or null, if none exists.
+	 */
+	private IContextChangeSet getSet(ActiveChangeSetManager manager, ITask task) {
+		synchronized (setsByTaskHandle) {
+			Map<String, IContextChangeSet> sets = setsByTaskHandle.get(manager);
+			if (sets != null) {
+				return sets.get(task.getHandleIdentifier());
+			}
+		}
+		// the index is not maintained while disabled
+		synchronized (setsByTaskHandle) {
+			setScanCount++;
+		}
+		for (ChangeSet set : manager.getSets()) {
+			if (set instanceof IContextChangeSet && task.equals(((IContextChangeSet) set).getTask())) {
+				return (IContextChangeSet) set;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * For testing. Returns the number of lookups that had to scan the change sets of a manager.
+	 */
+	public int getSetScanCount() {
+		synchronized (setsByTaskHandle) {
+			return setScanCount;
+		}
+	}
+
 	@Override
 	public void enable() {
 		super.enable();
@@ -121,7 +198,12 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 			if (listener == null) {
 				listener = new ChangeSetChangeListener(collector);
 				listenerByManager.put(collector, listener);
+				// register the listener before populating the index to not miss sets that are added concurrently
+				synchronized (setsByTaskHandle) {
+					setsByTaskHandle.put(collector, new HashMap<String, IContextChangeSet>());
+				}
 				collector.addListener(listener);
+				populateIndex(collector);
 			}
 		}
 	}
@@ -134,6 +216,9 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 			if (listener != null) {
 				collector.removeListener(listener);
 				listenerByManager.remove(collector);
+				synchronized (setsByTaskHandle) {
+					setsByTaskHandle.remove(collector);
+				}
 			}
 		}
 	}
@@ -175,14 +260,9 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 
 	public IResource[] getResources(ITask task) {
 		for (ActiveChangeSetManager collector : changeSetManagers) {
-			ChangeSet[] sets = collector.getSets();
-			for (ChangeSet set : sets) {
-				if (set instanceof IContextChangeSet) {
-					IContextChangeSet contextChangeSet = (IContextChangeSet) set;
-					if (contextChangeSet.getTask().equals(task) && contextChangeSet instanceof ActiveChangeSet) {
-						return ((ActiveChangeSet) contextChangeSet).getResources();
-					}
-				}
+			IContextChangeSet contextChangeSet = getSet(collector, task);
+			if (contextChangeSet instanceof ActiveChangeSet) {
+				return ((ActiveChangeSet) contextChangeSet).getResources();
 			}
 		}
 		return null;
@@ -218,11 +298,9 @@ public class ContextActiveChangeSetManager extends AbstractContextChangeSetManag
 	}
 
 	private IContextChangeSet getOrCreateSet(ActiveChangeSetManager manager, ITask task) {
-		ChangeSet[] sets = manager.getSets();
-		for (ChangeSet set : sets) {
-			if (set instanceof IContextChangeSet && task.equals(((IContextChangeSet) set).getTask())) {
-				return (IContextChangeSet) set;
-			}
+		IContextChangeSet set = getSet(manager, task);
+		if (set != null) {
+			return set;
 		}
 		// change set does not exist, create a new one
 		AbstractActiveChangeSetProvider provider = FocusedTeamUiPlugin.getDefault().getActiveChangeSetProvider(manager);
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.team.ui.templates.CommitTemplateManager;
+import org.eclipse.mylyn.tasks.ui.TasksUi;
 import org.eclipse.mylyn.team.ui.AbstractActiveChangeSetProvider;
 import org.eclipse.mylyn.team.ui.AbstractContextChangeSetManager;
 import org.eclipse.team.internal.core.subscribers.ActiveChangeSetManager;
@@ -46,6 +47,8 @@ public class FocusedTeamUiPlugin extends AbstractUIPlugin {
 
 	private CommitTemplateManager commitTemplateManager;
 
+	private CommentTaskIdCache commentTaskIdCache;
+
 	public static final String CHANGE_SET_MANAGE = "org.eclipse.mylyn.team.changesets.manage"; //$NON-NLS-1$
 
 	public static final String COMMIT_TEMPLATE = "org.eclipse.mylyn.team.commit.template"; //$NON-NLS-1$
@@ -68,6 +71,8 @@ public class FocusedTeamUiPlugin extends AbstractUIPlugin {
 		super.start(context);
 		initPreferenceDefaults();
 		commitTemplateManager = new CommitTemplateManager();
+		commentTaskIdCache = new CommentTaskIdCache(TasksUi.getRepositoryManager());
+		TasksUi.getRepositoryManager().addListener(commentTaskIdCache);
 
 		PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
 			public void run() {
@@ -91,6 +96,7 @@ public class FocusedTeamUiPlugin extends AbstractUIPlugin {
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		INSTANCE = null;
+		TasksUi.getRepositoryManager().removeListener(commentTaskIdCache);
 		super.stop(context);
 		for (AbstractContextChangeSetManager changeSetManager : changeSetManagers) {
 			changeSetManager.disable();
@@ -136,4 +142,8 @@ public class FocusedTeamUiPlugin extends AbstractUIPlugin {
 	public CommitTemplateManager getCommitTemplateManager() {
 		return commitTemplateManager;
 	}
+
+	public CommentTaskIdCache getCommentTaskIdCache() {
+		return commentTaskIdCache;
+	}
 }
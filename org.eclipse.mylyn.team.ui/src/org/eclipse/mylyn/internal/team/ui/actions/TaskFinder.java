@@ -13,8 +13,6 @@
 package org.eclipse.mylyn.internal.team.ui.actions;
 
 import java.net.URL;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IAdaptable;
@@ -29,6 +27,7 @@ import org.eclipse.mylyn.internal.tasks.ui.OpenRepositoryTaskJob;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.internal.tasks.ui.actions.OpenRepositoryTaskAction;
 import org.eclipse.mylyn.internal.tasks.ui.util.TasksUiInternal;
+import org.eclipse.mylyn.internal.team.ui.CommentTaskIdCache.Match;
 import org.eclipse.mylyn.internal.team.ui.FocusedTeamUiPlugin;
 import org.eclipse.mylyn.internal.team.ui.LinkedTaskInfo;
 import org.eclipse.mylyn.internal.team.ui.templates.CommitTemplateManager;
@@ -154,25 +153,15 @@ public class TaskFinder {
 			taskId = connector.getTaskIdFromTaskUrl(taskFullUrl);
 		}
 
-		// XXX: clean up and remove break to label
 		if (taskId == null && comment != null) {
-			Collection<AbstractRepositoryConnector> connectors = connector != null
-					? Collections.singletonList(connector)
-					: TasksUi.getRepositoryManager().getRepositoryConnectors();
-			REPOSITORIES: for (AbstractRepositoryConnector c : connectors) {
-				Collection<TaskRepository> repositories = repository != null
-						? Collections.singletonList(repository)
-						: TasksUi.getRepositoryManager().getRepositories(c.getConnectorKind());
-				for (TaskRepository r : repositories) {
-					String[] ids = c.getTaskIdsFromComment(r, comment);
-					if (ids != null && ids.length > 0) {
-						taskId = ids[0];
-						connector = c;
-						repository = r;
-						repositoryUrl = r.getRepositoryUrl();
-						break REPOSITORIES;
-					}
-				}
+			// the same comments are reconciled repeatedly when histories are rendered
+			Match match = FocusedTeamUiPlugin.getDefault().getCommentTaskIdCache().getMatch(connector, repository,
+					comment);
+			if (match != null) {
+				taskId = match.getTaskId();
+				repositoryUrl = match.getRepositoryUrl();
+				connector = repositoryManager.getRepositoryConnector(match.getConnectorKind());
+				repository = repositoryManager.getRepository(repositoryUrl);
 			}
 		}
 		if (taskId == null && comment != null) {
@@ -11,17 +11,22 @@
 
 package org.eclipse.mylyn.internal.team.ui.history;
 
-import org.eclipse.jface.viewers.ITreeContentProvider;
+import java.util.List;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.mylyn.tasks.core.data.TaskHistory;
 import org.eclipse.mylyn.tasks.core.data.TaskRevision;
 
 /**
+ * Provides revisions to a virtual tree which only requests the elements of rows that are visible.
+ * 
  * @author Steffen Pingel
  */
-public class TaskHistoryContentProvider implements ITreeContentProvider {
+public class TaskHistoryContentProvider implements ILazyTreeContentProvider {
 
-	private static final Object[] EMPTY_ARRAY = new Object[0];
+	private TreeViewer viewer;
 
 	public TaskHistoryContentProvider() {
 	}
@@ -30,32 +35,49 @@ public class TaskHistoryContentProvider implements ITreeContentProvider {
 		// ignore
 	}
 
-	public Object[] getChildren(Object parentElement) {
-		if (parentElement instanceof TaskRevision) {
-			return ((TaskRevision) parentElement).getChanges().toArray();
-		}
-		return EMPTY_ARRAY;
+	public Object getParent(Object element) {
+		return null;
+	}
+
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		this.viewer = (TreeViewer) viewer;
 	}
 
-	public Object[] getElements(Object inputElement) {
-		if (inputElement instanceof TaskHistory) {
-			return ((TaskHistory) inputElement).getRevisions().toArray();
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count = getChildCount(element);
+		if (count != currentChildCount) {
+			viewer.setChildCount(element, count);
 		}
-		return EMPTY_ARRAY;
 	}
 
-	public Object getParent(Object element) {
-		return null;
+	public void updateElement(Object parent, int index) {
+		List<?> children = getChildren(parent);
+		if (children != null && index < children.size()) {
+			Object element = children.get(index);
+			viewer.replace(parent, index, element);
+			viewer.setChildCount(element, getChildCount(element));
+		}
 	}
 
-	public boolean hasChildren(Object element) {
-		if (element instanceof TaskRevision) {
-			return getChildren(element).length > 1;
+	private int getChildCount(Object element) {
+		List<?> children = getChildren(element);
+		if (children == null) {
+			return 0;
+		}
+		if (element instanceof TaskRevision && children.size() == 1) {
+			// a single change is shown in the row of the revision
+			return 0;
 		}
-		return getChildren(element).length > 0;
+		return children.size();
 	}
 
-	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+	private List<?> getChildren(Object element) {
+		if (element instanceof TaskHistory) {
+			return ((TaskHistory) element).getRevisions();
+		} else if (element instanceof TaskRevision) {
+			return ((TaskRevision) element).getChanges();
+		}
+		return null;
 	}
 
 }
@@ -13,6 +13,10 @@ package org.eclipse.mylyn.internal.team.ui.history;
 
 import java.lang.reflect.InvocationTargetException;
 import java.text.DateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.compare.CompareConfiguration;
 import org.eclipse.compare.CompareEditorInput;
@@ -137,6 +141,40 @@ public class TaskHistoryPage extends HistoryPage {
 
 	}
 
+	private static class CachedHistory {
+
+		private final TaskHistory history;
+
+		private final Date modificationDate;
+
+		public CachedHistory(TaskHistory history, Date modificationDate) {
+			this.history = history;
+			this.modificationDate = modificationDate;
+		}
+
+		public boolean isValid(ITask task) {
+			Date currentDate = task.getModificationDate();
+			return (modificationDate != null) ? modificationDate.equals(currentDate) : currentDate == null;
+		}
+
+	}
+
+	private static final int MAX_CACHED_HISTORIES = 5;
+
+	/**
+	 * The histories of recently viewed tasks keyed by task handle, which allows switching between tasks without
+	 * retrieving their history again. A history is retrieved again when the task was modified since it was cached.
+	 */
+	private static final Map<String, CachedHistory> historyByTaskHandle = Collections.synchronizedMap(new LinkedHashMap<String, CachedHistory>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+			return size() > MAX_CACHED_HISTORIES;
+		}
+	});
+
 	public static boolean canShowHistoryFor(Object object) {
 		ITask task = getTask(object);
 		if (task != null) {
@@ -170,7 +208,8 @@ public class TaskHistoryPage extends HistoryPage {
 
 	@Override
 	public void createControl(Composite parent) {
-		viewer = new TreeViewer(parent, SWT.FULL_SELECTION);
+		viewer = new TreeViewer(parent, SWT.FULL_SELECTION | SWT.VIRTUAL);
+		viewer.setUseHashlookup(true);
 		Tree tree = viewer.getTree();
 		tree.setHeaderVisible(true);
 
@@ -282,6 +321,15 @@ public class TaskHistoryPage extends HistoryPage {
 
 		final ITask task = getTask();
 		if (task != null) {
+			CachedHistory cachedHistory = historyByTaskHandle.get(task.getHandleIdentifier());
+			if (cachedHistory != null && cachedHistory.isValid(task)) {
+				setHistory(cachedHistory.history);
+				return true;
+			}
+
+			// captured before retrieval so that a modification during retrieval causes another retrieval
+			final Date modificationDate = task.getModificationDate();
+
 			AbstractRepositoryConnector connector = TasksUiPlugin.getRepositoryManager().getRepositoryConnector(
 					task.getConnectorKind());
 			TaskRepository repository = TasksUiPlugin.getRepositoryManager().getRepository(task.getConnectorKind(),
@@ -300,7 +348,11 @@ public class TaskHistoryPage extends HistoryPage {
 						public void run() {
 							if (viewer.getControl() != null && !viewer.getControl().isDisposed()) {
 								TaskHistory history = ((GetTaskHistoryJob) event.getJob()).getHistory();
-								viewer.setInput(history);
+								if (history != null) {
+									historyByTaskHandle.put(task.getHandleIdentifier(), new CachedHistory(history,
+											modificationDate));
+								}
+								setHistory(history);
 							}
 						}
 					});
@@ -317,9 +369,21 @@ public class TaskHistoryPage extends HistoryPage {
 	}
 
 	public void refresh() {
+		ITask task = getTask();
+		if (task != null) {
+			historyByTaskHandle.remove(task.getHandleIdentifier());
+		}
 		inputSet();
 	}
 
+	private void setHistory(TaskHistory history) {
+		viewer.setInput(history);
+		if (history != null) {
+			// rows are only populated once they become visible
+			viewer.setChildCount(history, history.getRevisions().size());
+		}
+	}
+
 	@Override
 	public void setFocus() {
 		if (viewer != null) {
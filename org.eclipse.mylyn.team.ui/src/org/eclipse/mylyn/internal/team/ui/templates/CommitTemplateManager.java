@@ -14,7 +14,10 @@ package org.eclipse.mylyn.internal.team.ui.templates;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Stack;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,8 +53,80 @@ public class CommitTemplateManager {
 
 	private static final String[] EMPTY_STRING_ARRAY = new String[0];
 
+	private static final int MAX_COMPILED_TEMPLATES = 10;
+
+	/**
+	 * A template that has been split into literal text and variables with bound handlers.
+	 */
+	private static class CompiledTemplate {
+
+		/** Contains literal strings and variables. */
+		private final List<Object> tokens = new ArrayList<Object>();
+
+		public String evaluate(ITask task) {
+			StringBuilder sb = new StringBuilder();
+			for (Object token : tokens) {
+				if (token instanceof TemplateVariable) {
+					String value = ((TemplateVariable) token).getValue(task);
+					if (value != null) {
+						sb.append(value);
+					}
+				} else {
+					sb.append((String) token);
+				}
+			}
+			// remove duplicate whitespace
+			return sb.toString().replaceAll("[ ]+", " "); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+	}
+
+	private static class TemplateVariable {
+
+		private final String keyword;
+
+		private final AbstractCommitTemplateVariable handler;
+
+		public TemplateVariable(String keyword, AbstractCommitTemplateVariable handler) {
+			this.keyword = keyword;
+			this.handler = handler;
+		}
+
+		public String getValue(ITask task) {
+			if (handler != null) {
+				try {
+					return handler.getValue(task);
+				} catch (Exception e) {
+					StatusHandler.log(new Status(IStatus.ERROR, FocusedTeamUiPlugin.ID_PLUGIN,
+							"Problem while dispatching to template handler for: " + keyword, e)); //$NON-NLS-1$
+				}
+			}
+			return null;
+		}
+
+	}
+
+	private final Map<String, CompiledTemplate> compiledTemplates = Collections.synchronizedMap(new LinkedHashMap<String, CompiledTemplate>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+			return size() > MAX_COMPILED_TEMPLATES;
+		}
+	});
+
+	private String taskIdTemplate;
+
+	private Pattern taskIdPattern;
+
 	public String generateComment(ITask task, String template) {
-		return processKeywords(task, template);
+		CompiledTemplate compiledTemplate = compiledTemplates.get(template);
+		if (compiledTemplate == null) {
+			compiledTemplate = compile(template);
+			compiledTemplates.put(template, compiledTemplate);
+		}
+		return compiledTemplate.evaluate(task);
 	}
 
 	public String getTaskIdFromCommentOrLabel(String comment) {
@@ -65,7 +140,7 @@ public class CommitTemplateManager {
 				templateFirstLineIndex = template.substring(0, templateNewline - 1);
 			}
 
-			String regex = getTaskIdRegEx(templateFirstLineIndex);
+			Pattern pattern = getTaskIdPattern(templateFirstLineIndex);
 
 			int commentNewlineIndex = comment.indexOf('\n');
 			String commentFirstLine = comment;
@@ -73,7 +148,6 @@ public class CommitTemplateManager {
 				commentFirstLine = comment.substring(0, commentNewlineIndex);
 			}
 
-			Pattern pattern = Pattern.compile(regex);
 			Matcher matcher = pattern.matcher(commentFirstLine);
 
 			if (matcher.find()) {
@@ -87,6 +161,14 @@ public class CommitTemplateManager {
 		return null;
 	}
 
+	private synchronized Pattern getTaskIdPattern(String template) {
+		if (!template.equals(taskIdTemplate)) {
+			taskIdPattern = Pattern.compile(getTaskIdRegEx(template));
+			taskIdTemplate = template;
+		}
+		return taskIdPattern;
+	}
+
 	public String getTaskIdRegEx(String template) {
 		final String META_CHARS = " $()*+.< [\\]^{|}"; //$NON-NLS-1$
 		final String TASK_ID_PLACEHOLDER = "\uffff"; //$NON-NLS-1$
@@ -171,64 +253,45 @@ public class CommitTemplateManager {
 		}.run();
 	}
 
-	private String processKeywords(ITask task, String template) {
+	private CompiledTemplate compile(String template) {
+		CompiledTemplate compiledTemplate = new CompiledTemplate();
 		String[] segments = template.split("\\$\\{"); //$NON-NLS-1$
-		Stack<String> evaluated = new Stack<String>();
-		evaluated.add(segments[0]);
+		compiledTemplate.tokens.add(segments[0]);
 
 		for (int i = 1; i < segments.length; i++) {
 			String segment = segments[i];
-			String value = null;
 			String trailingCharacters;
 			Matcher argumentMatcher = ARGUMENT_PATTERN.matcher(segment);
 			if (argumentMatcher.matches()) {
 				String keyword = argumentMatcher.group(1);
 				String[] args = argumentMatcher.group(2).split("\"\\s*,\\s*\""); //$NON-NLS-1$
-				value = processKeyword(task, keyword, args);
+				compiledTemplate.tokens.add(createVariable(keyword, args));
 				trailingCharacters = argumentMatcher.group(3);
 			} else {
 				int brace = segment.indexOf('}');
 				if (brace > 0) {
 					String keyword = segment.substring(0, brace);
-					value = processKeyword(task, keyword, EMPTY_STRING_ARRAY);
+					compiledTemplate.tokens.add(createVariable(keyword, EMPTY_STRING_ARRAY));
 				}
 				trailingCharacters = segment.substring(brace + 1);
 			}
-
-			if (value != null) {
-				evaluated.add(value);
-				evaluated.add(trailingCharacters);
-			} else if (!evaluated.isEmpty()) {
-				evaluated.add(trailingCharacters);
-			}
-//			else {
-//				buffer.append("${");
-//				buffer.append(segment);
-//			}
+			compiledTemplate.tokens.add(trailingCharacters);
 		}
-		StringBuffer buffer = new StringBuffer();
-		for (String string : evaluated) {
-			buffer.append(string);
-		}
-
-		// remove duplicate whitespace
-		String commitTemplate = buffer.toString();
-		return commitTemplate.replaceAll("[ ]+", " "); //$NON-NLS-1$ //$NON-NLS-2$
+		return compiledTemplate;
 	}
 
-	private String processKeyword(ITask task, String keyword, String[] args) {
+	private TemplateVariable createVariable(String keyword, String[] args) {
+		AbstractCommitTemplateVariable handler = null;
 		try {
-			AbstractCommitTemplateVariable handler = createHandler(keyword);
+			handler = createHandler(keyword);
 			if (handler != null) {
 				handler.setArguments(args);
-				return handler.getValue(task);
 			}
 		} catch (Exception e) {
 			StatusHandler.log(new Status(IStatus.ERROR, FocusedTeamUiPlugin.ID_PLUGIN,
 					"Problem while dispatching to template handler for: " + keyword, e)); //$NON-NLS-1$
 		}
-
-		return null;
+		return new TemplateVariable(keyword, handler);
 	}
 
 	/**